@@ -0,0 +1,40 @@
+package com.nirmaan.student.cache;
+
+import com.nirmaan.student.dto.QuizSnapshot;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+@Component
+public class QuizSnapshotCache {
+
+    private final Map<Long, QuizSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public QuizSnapshot get(Long quizId, Function<Long, QuizSnapshot> loader) {
+        return snapshots.computeIfAbsent(quizId, loader);
+    }
+
+    public void evict(Long quizId) {
+        snapshots.remove(quizId);
+    }
+
+    /**
+     * Evicts now and again once the surrounding transaction commits, so a reader
+     * racing the edit cannot re-cache the previous version after we are done.
+     */
+    public void evictAfterCommit(Long quizId) {
+        evict(quizId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(quizId);
+                }
+            });
+        }
+    }
+}
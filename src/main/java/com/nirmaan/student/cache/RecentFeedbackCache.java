@@ -0,0 +1,62 @@
+package com.nirmaan.student.cache;
+
+import com.nirmaan.student.dto.FeedbackDto;
+import com.nirmaan.student.util.RingBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * The most recent feedback, newest first, kept in a ring buffer so the admin
+ * home page does not hit the database. The buffer is filled from the database
+ * on first use and after any change it cannot apply in place.
+ */
+@Component
+public class RecentFeedbackCache {
+
+    private final RingBuffer<FeedbackDto> buffer;
+    private boolean warm;
+
+    public RecentFeedbackCache(@Value("${app.feedback.recent-cache-size:50}") int capacity) {
+        this.buffer = new RingBuffer<>(capacity);
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns up to {@code limit} entries; {@code loader} fetches the newest N
+     * from the database and is only called when the buffer is cold.
+     */
+    public synchronized List<FeedbackDto> recent(int limit, IntFunction<List<FeedbackDto>> loader) {
+        if (!warm) {
+            buffer.clear();
+            List<FeedbackDto> newest = loader.apply(buffer.capacity());
+            for (int i = newest.size() - 1; i >= 0; i--) {
+                buffer.add(newest.get(i));
+            }
+            warm = true;
+        }
+        return buffer.newestFirst(limit);
+    }
+
+    public synchronized void add(FeedbackDto feedback) {
+        if (warm && !buffer.contains(f -> Objects.equals(f.getId(), feedback.getId()))) {
+            buffer.add(feedback);
+        }
+    }
+
+    public synchronized void replace(FeedbackDto feedback) {
+        buffer.replaceAll(f -> Objects.equals(f.getId(), feedback.getId()), f -> feedback);
+    }
+
+    public synchronized void remove(Long feedbackId) {
+        if (buffer.contains(f -> Objects.equals(f.getId(), feedbackId))) {
+            warm = false;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.nirmaan.student.cache;
+
+import com.nirmaan.student.dto.ListingPage;
+import com.nirmaan.student.util.ExpiringLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Total row counts for the paginated admin listings. An exact total costs a
+ * COUNT over the whole filtered table on every page, so callers that only
+ * need a rough figure for a pager can take a cached one instead, up to the
+ * TTL out of date. A slice that reaches the end of the data gives its exact
+ * total for free.
+ */
+@Component
+public class RowCountCache {
+
+    private final ExpiringLruCache<String, Long> counts;
+
+    public RowCountCache(@Value("${app.admin.listing.count-cache-ttl-seconds:60}") long ttlSeconds) {
+        this.counts = new ExpiringLruCache<>(256, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Wraps {@code slice} with its total, running {@code count} unless the
+     * slice already settles it or an approximate figure is acceptable and
+     * cached under {@code key}.
+     */
+    public <T> ListingPage<T> page(String key, Slice<T> slice, boolean approximate, LongSupplier count) {
+        long total;
+        boolean estimated = false;
+        if (!slice.hasNext() && (slice.hasContent() || slice.getNumber() == 0)) {
+            total = slice.getPageable().getOffset() + slice.getNumberOfElements();
+            counts.put(key, total);
+        } else if (approximate) {
+            Long cached = counts.get(key);
+            estimated = cached != null;
+            total = cached != null ? cached : count.getAsLong();
+            if (cached == null) {
+                counts.put(key, total);
+            }
+        } else {
+            total = count.getAsLong();
+            counts.put(key, total);
+        }
+        return new ListingPage<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), total,
+                estimated);
+    }
+}
@@ -2,7 +2,11 @@ package com.nirmaan.student.config;
 
 import com.nirmaan.student.security.JwtAuthenticationEntryPoint;
 import com.nirmaan.student.security.JwtAuthenticationFilter;
+import com.nirmaan.student.security.OffloadingPasswordEncoder;
+import com.nirmaan.student.security.PasswordHashingExecutor;
+import com.nirmaan.student.security.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -23,10 +27,11 @@ public class SecurityConfig {
 
 	private final JwtAuthenticationEntryPoint authenticationEntryPoint;
 	private final JwtAuthenticationFilter authenticationFilter;
+	private final RateLimitFilter rateLimitFilter;
 
 	@Bean
-	PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+		return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor);
 	}
 
 	@Bean
@@ -34,13 +39,15 @@ public class SecurityConfig {
 		http.csrf(csrf -> csrf.disable())
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.exceptionHandling(exception -> exception.authenticationEntryPoint(authenticationEntryPoint))
-				.authorizeHttpRequests(auth -> auth.requestMatchers("/api/auth/**").permitAll()
+				.authorizeHttpRequests(auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+						.requestMatchers("/api/auth/**").permitAll()
 						.requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
 						.requestMatchers(HttpMethod.POST, "/api/users/register").hasRole("ADMIN")
 						.requestMatchers("/api/admin/**").hasRole("ADMIN").requestMatchers("/api/trainer/**")
 						.hasAnyRole("ADMIN", "TRAINER").requestMatchers("/api/student/**")
 						.hasAnyRole("ADMIN", "TRAINER", "STUDENT").anyRequest().authenticated())
-				.addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class);
+				.addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class)
+				.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
 		return http.build();
 	}
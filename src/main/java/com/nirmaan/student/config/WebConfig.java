@@ -0,0 +1,22 @@
+package com.nirmaan.student.config;
+
+import com.nirmaan.student.security.CallerContextArgumentResolver;
+import com.nirmaan.student.security.CallerProfileLookup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+	private final CallerProfileLookup callerProfileLookup;
+
+	@Override
+	public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+		resolvers.add(new CallerContextArgumentResolver(callerProfileLookup));
+	}
+}
@@ -1,13 +1,23 @@
 package com.nirmaan.student.controller;
 
 import com.nirmaan.student.dto.ApiResponse;
+import com.nirmaan.student.dto.ListingPage;
+import com.nirmaan.student.dto.StudentSummary;
+import com.nirmaan.student.dto.TrainerSummary;
+import com.nirmaan.student.dto.UserSummary;
+import com.nirmaan.student.dto.UserImportReport;
 import com.nirmaan.student.dto.UserRegistrationRequest;
 import com.nirmaan.student.dto.StudentDto;
 import com.nirmaan.student.dto.TrainerDto;
 import com.nirmaan.student.dto.CourseDto;
 import com.nirmaan.student.dto.FeedbackDto;
 import com.nirmaan.student.entity.User;
+import com.nirmaan.student.enums.CourseType;
 import com.nirmaan.student.enums.Role;
+import com.nirmaan.student.search.DirectoryIndex;
+import com.nirmaan.student.security.PasswordHashingExecutor;
+import com.nirmaan.student.service.DirectoryService;
+import com.nirmaan.student.service.UserImportService;
 import com.nirmaan.student.service.UserService;
 import com.nirmaan.student.service.StudentService;
 import com.nirmaan.student.service.TrainerService;
@@ -15,12 +25,15 @@ import com.nirmaan.student.service.CourseService;
 import com.nirmaan.student.service.FeedbackService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -29,10 +42,13 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
     private final StudentService studentService;
     private final TrainerService trainerService;
     private final CourseService courseService;
     private final FeedbackService feedbackService;
+    private final DirectoryService directoryService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     // User Management
     @PostMapping("/users/register")
@@ -42,6 +58,19 @@ public class AdminController {
                 .body(new ApiResponse<>(true, "User registered successfully", user));
     }
 
+    @PostMapping(value = "/users/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<UserImportReport>> importUsers(
+            @RequestBody List<UserRegistrationRequest> requests) {
+        UserImportReport report = userImportService.importUsers(requests);
+        return ResponseEntity.ok(new ApiResponse<>(true, "User import completed", report));
+    }
+
+    @PostMapping(value = "/users/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<UserImportReport>> importUsersCsv(@RequestBody String csv) {
+        UserImportReport report = userImportService.importCsv(csv);
+        return ResponseEntity.ok(new ApiResponse<>(true, "User import completed", report));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<ApiResponse<List<User>>> getAllUsers() {
         List<User> users = userService.getAllUsers();
@@ -54,6 +83,17 @@ public class AdminController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Users retrieved successfully", users));
     }
 
+    @GetMapping("/users/page")
+    public ResponseEntity<ApiResponse<ListingPage<UserSummary>>> listUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean approximateCount) {
+        ListingPage<UserSummary> users = userService.listUsers(role, page, size, sort, approximateCount);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Users retrieved successfully", users));
+    }
+
     // Student Management
     @GetMapping("/students")
     public ResponseEntity<ApiResponse<List<StudentDto>>> getAllStudents() {
@@ -61,6 +101,17 @@ public class AdminController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Students retrieved successfully", students));
     }
 
+    @GetMapping("/students/page")
+    public ResponseEntity<ApiResponse<ListingPage<StudentSummary>>> listStudents(
+            @RequestParam(required = false) CourseType course,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean approximateCount) {
+        ListingPage<StudentSummary> students = studentService.listStudents(course, page, size, sort, approximateCount);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Students retrieved successfully", students));
+    }
+
     @GetMapping("/students/{id}")
     public ResponseEntity<ApiResponse<StudentDto>> getStudent(@PathVariable Long id) {
         StudentDto student = studentService.getStudentById(id);
@@ -81,6 +132,16 @@ public class AdminController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Trainers retrieved successfully", trainers));
     }
 
+    @GetMapping("/trainers/page")
+    public ResponseEntity<ApiResponse<ListingPage<TrainerSummary>>> listTrainers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean approximateCount) {
+        ListingPage<TrainerSummary> trainers = trainerService.listTrainers(page, size, sort, approximateCount);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Trainers retrieved successfully", trainers));
+    }
+
     @GetMapping("/trainers/{id}")
     public ResponseEntity<ApiResponse<TrainerDto>> getTrainer(@PathVariable Long id) {
         TrainerDto trainer = trainerService.getTrainerById(id);
@@ -121,4 +182,21 @@ public class AdminController {
         List<FeedbackDto> feedback = feedbackService.getAllFeedback();
         return ResponseEntity.ok(new ApiResponse<>(true, "Feedback retrieved successfully", feedback));
     }
+
+    // Directory Search
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<DirectoryIndex.Hit>>> searchDirectory(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<DirectoryIndex.Kind> types,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<DirectoryIndex.Hit> hits = directoryService.search(q, types, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Search results retrieved successfully", hits));
+    }
+
+    // Authentication Load
+    @GetMapping("/auth/hashing-stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPasswordHashingStats() {
+        Map<String, Object> stats = passwordHashingExecutor.getStats();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Password hashing stats retrieved successfully", stats));
+    }
 }
\ No newline at end of file
@@ -3,14 +3,12 @@ package com.nirmaan.student.controller;
 import com.nirmaan.student.dto.ApiResponse;
 import com.nirmaan.student.dto.AttendanceDto;
 import com.nirmaan.student.enums.AttendanceStatus;
-import com.nirmaan.student.security.UserPrincipal;
+import com.nirmaan.student.security.CallerContext;
 import com.nirmaan.student.service.AttendanceService;
-import com.nirmaan.student.service.StudentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -24,7 +22,6 @@ import java.util.Map;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
-    private final StudentService studentService;
 
     // ===============================
     // = STUDENT OPERATIONS
@@ -33,9 +30,8 @@ public class AttendanceController {
     @PostMapping("/mark")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER', 'STUDENT')")
     public ResponseEntity<ApiResponse<AttendanceDto>> markAttendance(@RequestParam String qrCodeId, 
-            Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+            CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         AttendanceDto attendance = attendanceService.markAttendance(studentId, qrCodeId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Attendance marked successfully", attendance));
@@ -58,9 +54,8 @@ public class AttendanceController {
 
     @GetMapping("/my-attendance")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER', 'STUDENT')")
-    public ResponseEntity<ApiResponse<List<AttendanceDto>>> getMyAttendance(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+    public ResponseEntity<ApiResponse<List<AttendanceDto>>> getMyAttendance(CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         List<AttendanceDto> attendance = attendanceService.getStudentAttendance(studentId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Student attendance retrieved successfully", attendance));
@@ -71,10 +66,9 @@ public class AttendanceController {
     public ResponseEntity<ApiResponse<List<AttendanceDto>>> getMyAttendanceByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            Authentication authentication) {
+            CallerContext caller) {
         
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+        Long studentId = caller.requireStudentId();
         
         List<AttendanceDto> attendance = attendanceService.getStudentAttendanceByDateRange(studentId, startDate, endDate);
         return ResponseEntity.ok(new ApiResponse<>(true, "Student attendance for date range retrieved successfully", attendance));
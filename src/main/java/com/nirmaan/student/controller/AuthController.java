@@ -3,8 +3,10 @@ package com.nirmaan.student.controller;
 import com.nirmaan.student.dto.ApiResponse;
 import com.nirmaan.student.dto.LoginRequest;
 import com.nirmaan.student.dto.LoginResponse;
+import com.nirmaan.student.dto.RefreshTokenRequest;
 import com.nirmaan.student.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,4 +24,19 @@ public class AuthController {
         LoginResponse loginResponse = authService.login(loginRequest);
         return ResponseEntity.ok(new ApiResponse<>(true, "Login successful", loginResponse));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<LoginResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        LoginResponse loginResponse = authService.refresh(request);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Token refreshed", loginResponse));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(@Valid @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(request, accessToken);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Logged out"));
+    }
 }
\ No newline at end of file
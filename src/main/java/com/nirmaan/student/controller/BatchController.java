@@ -1,6 +1,7 @@
 package com.nirmaan.student.controller;
 
 import com.nirmaan.student.dto.ApiResponse;
+import com.nirmaan.student.dto.BatchDto;
 import com.nirmaan.student.entity.Batch;
 import com.nirmaan.student.service.BatchService;
 import lombok.RequiredArgsConstructor;
@@ -21,36 +22,42 @@ public class BatchController {
     private final BatchService batchService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Batch>>> getAllBatches() {
-        List<Batch> batches = batchService.getAllBatches();
+    public ResponseEntity<ApiResponse<List<BatchDto>>> getAllBatches() {
+        List<BatchDto> batches = batchService.getAllBatches();
         return ResponseEntity.ok(new ApiResponse<>(true, "Batches retrieved successfully", batches));
     }
 
+    @GetMapping("/active")
+    public ResponseEntity<ApiResponse<List<BatchDto>>> getActiveBatches() {
+        List<BatchDto> batches = batchService.getActiveBatches();
+        return ResponseEntity.ok(new ApiResponse<>(true, "Active batches retrieved successfully", batches));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Batch>> getBatch(@PathVariable Long id) {
-        Batch batch = batchService.getBatchById(id);
+    public ResponseEntity<ApiResponse<BatchDto>> getBatch(@PathVariable Long id) {
+        BatchDto batch = batchService.getBatchById(id);
         return ResponseEntity.ok(new ApiResponse<>(true, "Batch retrieved successfully", batch));
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Batch>> createBatch(@Valid @RequestBody Batch batch) {
-        Batch createdBatch = batchService.createBatch(batch);
+    public ResponseEntity<ApiResponse<BatchDto>> createBatch(@Valid @RequestBody Batch batch) {
+        BatchDto createdBatch = batchService.createBatch(batch);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new ApiResponse<>(true, "Batch created successfully", createdBatch));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Batch>> updateBatch(@PathVariable Long id, 
+    public ResponseEntity<ApiResponse<BatchDto>> updateBatch(@PathVariable Long id, 
             @Valid @RequestBody Batch batch) {
-        Batch updatedBatch = batchService.updateBatch(id, batch);
+        BatchDto updatedBatch = batchService.updateBatch(id, batch);
         return ResponseEntity.ok(new ApiResponse<>(true, "Batch updated successfully", updatedBatch));
     }
 
     @GetMapping("/trainer/{trainerId}")
-    public ResponseEntity<ApiResponse<List<Batch>>> getBatchesByTrainer(@PathVariable Long trainerId) {
-        List<Batch> batches = batchService.getBatchesByTrainer(trainerId);
+    public ResponseEntity<ApiResponse<List<BatchDto>>> getBatchesByTrainer(@PathVariable Long trainerId) {
+        List<BatchDto> batches = batchService.getBatchesByTrainer(trainerId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Trainer batches retrieved successfully", batches));
     }
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package com.nirmaan.student.controller;
 
 import com.nirmaan.student.dto.ApiResponse;
+import com.nirmaan.student.enums.Role;
+import com.nirmaan.student.security.CallerContext;
 import com.nirmaan.student.service.DashboardService;
+import com.nirmaan.student.service.LiveDashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -15,6 +20,7 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final LiveDashboardService liveDashboardService;
 
     @GetMapping("/admin")
     @PreAuthorize("hasRole('ADMIN')")
@@ -25,8 +31,18 @@ public class DashboardController {
 
     @GetMapping("/trainer")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getTrainerDashboard() {
-        Map<String, Object> dashboardData = dashboardService.getTrainerDashboardData();
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getTrainerDashboard(
+            @RequestParam(required = false) Long trainerId,
+            CallerContext caller) {
+        Map<String, Object> dashboardData;
+        if (caller.role() == Role.TRAINER) {
+            // Trainers always see their own numbers
+            dashboardData = dashboardService.getTrainerDashboardData(caller.requireTrainerId());
+        } else if (trainerId != null) {
+            dashboardData = dashboardService.getTrainerDashboardData(trainerId);
+        } else {
+            dashboardData = dashboardService.getTrainerDashboardData();
+        }
         return ResponseEntity.ok(new ApiResponse<>(true, "Trainer dashboard data retrieved", dashboardData));
     }
 
@@ -36,4 +52,12 @@ public class DashboardController {
         Map<String, Object> dashboardData = dashboardService.getStudentDashboardData();
         return ResponseEntity.ok(new ApiResponse<>(true, "Student dashboard data retrieved", dashboardData));
     }
-}
\ No newline at end of file
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
+    public SseEmitter streamDashboardCounters(CallerContext caller) {
+        // Trainers only see activity on their own batches, quizzes and feedback
+        Long trainerId = caller.role() == Role.TRAINER ? caller.requireTrainerId() : null;
+        return liveDashboardService.subscribe(trainerId);
+    }
+}
@@ -2,10 +2,13 @@ package com.nirmaan.student.controller;
 
 import com.nirmaan.student.dto.ApiResponse;
 import com.nirmaan.student.dto.FeedbackDto;
+import com.nirmaan.student.dto.FeedbackFilter;
+import com.nirmaan.student.dto.FeedbackPage;
+import com.nirmaan.student.dto.KeywordTrendDto;
 import com.nirmaan.student.enums.FeedbackType;
+import com.nirmaan.student.security.CallerContext;
 import com.nirmaan.student.security.UserPrincipal;
 import com.nirmaan.student.service.FeedbackService;
-import com.nirmaan.student.service.StudentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,7 +26,6 @@ import java.util.Map;
 public class FeedbackController {
 
     private final FeedbackService feedbackService;
-    private final StudentService studentService;
 
     // ===============================
     // = STUDENT OPERATIONS
@@ -32,9 +34,8 @@ public class FeedbackController {
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER', 'STUDENT')")
     public ResponseEntity<ApiResponse<FeedbackDto>> submitFeedback(@Valid @RequestBody FeedbackDto feedbackDto, 
-            Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+            CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         FeedbackDto feedback = feedbackService.submitFeedback(feedbackDto, studentId);
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -48,10 +49,9 @@ public class FeedbackController {
             @RequestParam Integer rating,
             @RequestParam String comments,
             @RequestParam(defaultValue = "false") Boolean anonymous,
-            Authentication authentication) {
+            CallerContext caller) {
         
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+        Long studentId = caller.requireStudentId();
         
         FeedbackDto feedback = feedbackService.submitCourseFeedback(studentId, courseId, rating, comments, anonymous);
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -65,10 +65,9 @@ public class FeedbackController {
             @RequestParam Integer rating,
             @RequestParam String comments,
             @RequestParam(defaultValue = "false") Boolean anonymous,
-            Authentication authentication) {
+            CallerContext caller) {
         
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+        Long studentId = caller.requireStudentId();
         
         FeedbackDto feedback = feedbackService.submitTrainerFeedback(studentId, trainerId, rating, comments, anonymous);
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -81,10 +80,9 @@ public class FeedbackController {
             @RequestParam Integer rating,
             @RequestParam String comments,
             @RequestParam(defaultValue = "false") Boolean anonymous,
-            Authentication authentication) {
+            CallerContext caller) {
         
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+        Long studentId = caller.requireStudentId();
         
         FeedbackDto feedback = feedbackService.submitSystemFeedback(studentId, rating, comments, anonymous);
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -93,9 +91,8 @@ public class FeedbackController {
 
     @GetMapping("/my-feedback")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER', 'STUDENT')")
-    public ResponseEntity<ApiResponse<List<FeedbackDto>>> getMyFeedback(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+    public ResponseEntity<ApiResponse<List<FeedbackDto>>> getMyFeedback(CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         List<FeedbackDto> feedback = feedbackService.getFeedbackByStudent(studentId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Student feedback retrieved successfully", feedback));
@@ -220,6 +217,36 @@ public class FeedbackController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Feedback by rating retrieved successfully", feedback));
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
+    public ResponseEntity<ApiResponse<FeedbackPage>> searchFeedback(FeedbackFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        FeedbackPage page = feedbackService.searchFeedback(filter, cursor, size);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Feedback retrieved successfully", page));
+    }
+
+    @GetMapping("/search/text")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
+    public ResponseEntity<ApiResponse<List<FeedbackDto>>> searchFeedbackComments(@RequestParam String q,
+            @RequestParam(required = false) Long trainerId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<FeedbackDto> feedback = feedbackService.searchComments(q, trainerId, courseId, rating, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Feedback search completed successfully", feedback));
+    }
+
+    @GetMapping("/trends")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
+    public ResponseEntity<ApiResponse<List<KeywordTrendDto>>> getKeywordTrends(
+            @RequestParam(required = false) Long trainerId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<KeywordTrendDto> trends = feedbackService.getKeywordTrends(trainerId, courseId, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Feedback trends retrieved successfully", trends));
+    }
+
     @GetMapping("/anonymous")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
     public ResponseEntity<ApiResponse<List<FeedbackDto>>> getAnonymousFeedback() {
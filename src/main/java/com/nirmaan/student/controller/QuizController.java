@@ -3,18 +3,20 @@ package com.nirmaan.student.controller;
 import com.nirmaan.student.dto.ApiResponse;
 import com.nirmaan.student.dto.QuizDto;
 import com.nirmaan.student.dto.QuestionDto;
+import com.nirmaan.student.dto.QuizSnapshot;
+import com.nirmaan.student.dto.StudentPerformanceDto;
 import com.nirmaan.student.entity.StudentQuizAttempt;
 import com.nirmaan.student.enums.CourseType;
-import com.nirmaan.student.security.UserPrincipal;
+import com.nirmaan.student.security.CallerContext;
 import com.nirmaan.student.service.QuizService;
-import com.nirmaan.student.service.TrainerService;
-import com.nirmaan.student.service.StudentService;
+import com.nirmaan.student.service.StudentPerformanceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -26,8 +28,7 @@ import java.util.Map;
 public class QuizController {
 
     private final QuizService quizService;
-    private final TrainerService trainerService;
-    private final StudentService studentService;
+    private final StudentPerformanceService studentPerformanceService;
 
     // ===============================
     // = ADMIN OPERATIONS
@@ -61,9 +62,8 @@ public class QuizController {
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
     public ResponseEntity<ApiResponse<QuizDto>> createQuiz(@Valid @RequestBody QuizDto quizDto, 
-            Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long trainerId = trainerService.getTrainerByUserId(userPrincipal.getUser().getId()).getId();
+            CallerContext caller) {
+        Long trainerId = caller.requireTrainerId();
         
         QuizDto createdQuiz = quizService.createQuiz(quizDto, trainerId);
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -73,9 +73,8 @@ public class QuizController {
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
     public ResponseEntity<ApiResponse<QuizDto>> updateQuiz(@PathVariable Long id, 
-            @Valid @RequestBody QuizDto quizDto, Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long trainerId = trainerService.getTrainerByUserId(userPrincipal.getUser().getId()).getId();
+            @Valid @RequestBody QuizDto quizDto, CallerContext caller) {
+        Long trainerId = caller.requireTrainerId();
         
         QuizDto updatedQuiz = quizService.updateQuiz(id, quizDto, trainerId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Quiz updated successfully", updatedQuiz));
@@ -83,9 +82,8 @@ public class QuizController {
 
     @GetMapping("/trainer/my-quizzes")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
-    public ResponseEntity<ApiResponse<List<QuizDto>>> getMyQuizzes(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long trainerId = trainerService.getTrainerByUserId(userPrincipal.getUser().getId()).getId();
+    public ResponseEntity<ApiResponse<List<QuizDto>>> getMyQuizzes(CallerContext caller) {
+        Long trainerId = caller.requireTrainerId();
         
         List<QuizDto> quizzes = quizService.getQuizzesByTrainer(trainerId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Trainer quizzes retrieved successfully", quizzes));
@@ -125,9 +123,8 @@ public class QuizController {
 
     @GetMapping("/student/available")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER', 'STUDENT')")
-    public ResponseEntity<ApiResponse<List<QuizDto>>> getAvailableQuizzesForStudent(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+    public ResponseEntity<ApiResponse<List<QuizDto>>> getAvailableQuizzesForStudent(CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         List<QuizDto> quizzes = quizService.getAvailableQuizzesForStudent(studentId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Available quizzes for student retrieved successfully", quizzes));
@@ -136,9 +133,8 @@ public class QuizController {
     @PostMapping("/{id}/attempt")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER', 'STUDENT')")
     public ResponseEntity<ApiResponse<StudentQuizAttempt>> submitQuizAttempt(@PathVariable Long id, 
-            @RequestBody Map<Long, String> answers, Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+            @RequestBody Map<Long, String> answers, CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         StudentQuizAttempt attempt = quizService.submitQuizAttempt(studentId, id, answers);
         return ResponseEntity.ok(new ApiResponse<>(true, "Quiz submitted successfully", attempt));
@@ -146,14 +142,29 @@ public class QuizController {
 
     @GetMapping("/student/attempts")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER', 'STUDENT')")
-    public ResponseEntity<ApiResponse<List<StudentQuizAttempt>>> getMyQuizAttempts(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+    public ResponseEntity<ApiResponse<List<StudentQuizAttempt>>> getMyQuizAttempts(CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         List<StudentQuizAttempt> attempts = quizService.getStudentQuizAttempts(studentId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Student quiz attempts retrieved successfully", attempts));
     }
 
+    @GetMapping("/student/performance")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<ApiResponse<StudentPerformanceDto>> getMyPerformance(CallerContext caller) {
+        Long studentId = caller.requireStudentId();
+
+        StudentPerformanceDto performance = studentPerformanceService.getPerformance(studentId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Student performance retrieved successfully", performance));
+    }
+
+    @GetMapping("/student/{studentId}/performance")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
+    public ResponseEntity<ApiResponse<StudentPerformanceDto>> getStudentPerformance(@PathVariable Long studentId) {
+        StudentPerformanceDto performance = studentPerformanceService.getPerformance(studentId);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Student performance retrieved successfully", performance));
+    }
+
     @GetMapping("/{quizId}/attempts")
     @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER')")
     public ResponseEntity<ApiResponse<List<StudentQuizAttempt>>> getQuizAttempts(@PathVariable Long quizId) {
@@ -196,6 +207,19 @@ public class QuizController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Quiz questions retrieved successfully", questions));
     }
 
+    @GetMapping("/{quizId}/snapshot")
+    @PreAuthorize("hasAnyRole('ADMIN', 'TRAINER', 'STUDENT')")
+    public ResponseEntity<ApiResponse<QuizSnapshot>> getQuizSnapshot(@PathVariable Long quizId, WebRequest request) {
+        QuizSnapshot snapshot = quizService.getQuizSnapshot(quizId);
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new ApiResponse<>(true, "Quiz snapshot retrieved successfully", snapshot));
+    }
+
     // ===============================
     // = QUIZ ANALYTICS
     // ===============================
@@ -6,7 +6,7 @@ import com.nirmaan.student.dto.AttendanceDto;
 import com.nirmaan.student.dto.QuizDto;
 import com.nirmaan.student.dto.FeedbackDto;
 import com.nirmaan.student.entity.StudentQuizAttempt;
-import com.nirmaan.student.security.UserPrincipal;
+import com.nirmaan.student.security.CallerContext;
 import com.nirmaan.student.service.StudentService;
 import com.nirmaan.student.service.AttendanceService;
 import com.nirmaan.student.service.QuizService;
@@ -14,7 +14,6 @@ import com.nirmaan.student.service.FeedbackService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -34,17 +33,15 @@ public class StudentController {
 
     // Profile Management
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse<StudentDto>> getProfile(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        StudentDto student = studentService.getStudentByUserId(userPrincipal.getUser().getId());
+    public ResponseEntity<ApiResponse<StudentDto>> getProfile(CallerContext caller) {
+        StudentDto student = studentService.getStudentByUserId(caller.userId());
         return ResponseEntity.ok(new ApiResponse<>(true, "Profile retrieved successfully", student));
     }
 
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse<StudentDto>> updateProfile(@Valid @RequestBody StudentDto studentDto, 
-            Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+            CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         StudentDto updatedStudent = studentService.updateStudent(studentId, studentDto);
         return ResponseEntity.ok(new ApiResponse<>(true, "Profile updated successfully", updatedStudent));
@@ -53,18 +50,16 @@ public class StudentController {
     // Attendance Management
     @PostMapping("/attendance/mark")
     public ResponseEntity<ApiResponse<AttendanceDto>> markAttendance(@RequestParam String qrCodeId, 
-            Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+            CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         AttendanceDto attendance = attendanceService.markAttendance(studentId, qrCodeId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Attendance marked successfully", attendance));
     }
 
     @GetMapping("/attendance")
-    public ResponseEntity<ApiResponse<List<AttendanceDto>>> getMyAttendance(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+    public ResponseEntity<ApiResponse<List<AttendanceDto>>> getMyAttendance(CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         List<AttendanceDto> attendance = attendanceService.getStudentAttendance(studentId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Attendance retrieved successfully", attendance));
@@ -79,9 +74,8 @@ public class StudentController {
 
     @PostMapping("/quiz/{quizId}/attempt")
     public ResponseEntity<ApiResponse<StudentQuizAttempt>> submitQuizAttempt(@PathVariable Long quizId, 
-            @RequestBody Map<Long, String> answers, Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+            @RequestBody Map<Long, String> answers, CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         StudentQuizAttempt attempt = quizService.submitQuizAttempt(studentId, quizId, answers);
         return ResponseEntity.ok(new ApiResponse<>(true, "Quiz submitted successfully", attempt));
@@ -90,9 +84,8 @@ public class StudentController {
     // Feedback Management
     @PostMapping("/feedback")
     public ResponseEntity<ApiResponse<FeedbackDto>> submitFeedback(@Valid @RequestBody FeedbackDto feedbackDto, 
-            Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long studentId = studentService.getStudentByUserId(userPrincipal.getUser().getId()).getId();
+            CallerContext caller) {
+        Long studentId = caller.requireStudentId();
         
         FeedbackDto feedback = feedbackService.submitFeedback(feedbackDto, studentId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Feedback submitted successfully", feedback));
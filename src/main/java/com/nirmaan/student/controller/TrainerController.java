@@ -5,7 +5,7 @@ import com.nirmaan.student.dto.QuizDto;
 import com.nirmaan.student.dto.TrainerDto;
 import com.nirmaan.student.dto.AttendanceDto;
 import com.nirmaan.student.dto.FeedbackDto;
-import com.nirmaan.student.security.UserPrincipal;
+import com.nirmaan.student.security.CallerContext;
 import com.nirmaan.student.service.QuizService;
 import com.nirmaan.student.service.AttendanceService;
 import com.nirmaan.student.service.FeedbackService;
@@ -15,7 +15,6 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -36,9 +35,8 @@ public class TrainerController {
     // Quiz Management
     @PostMapping("/quiz")
     public ResponseEntity<ApiResponse<QuizDto>> createQuiz(@Valid @RequestBody QuizDto quizDto, 
-            Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long trainerId = trainerService.getTrainerByUserId(userPrincipal.getUser().getId()).getId();
+            CallerContext caller) {
+        Long trainerId = caller.requireTrainerId();
         
         QuizDto createdQuiz = quizService.createQuiz(quizDto, trainerId);
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -46,9 +44,8 @@ public class TrainerController {
     }
 
     @GetMapping("/quizzes")
-    public ResponseEntity<ApiResponse<List<QuizDto>>> getMyQuizzes(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long trainerId = trainerService.getTrainerByUserId(userPrincipal.getUser().getId()).getId();
+    public ResponseEntity<ApiResponse<List<QuizDto>>> getMyQuizzes(CallerContext caller) {
+        Long trainerId = caller.requireTrainerId();
         
         List<QuizDto> quizzes = quizService.getQuizzesByTrainer(trainerId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Quizzes retrieved successfully", quizzes));
@@ -64,9 +61,8 @@ public class TrainerController {
 
     // Feedback Management
     @GetMapping("/feedback")
-    public ResponseEntity<ApiResponse<List<FeedbackDto>>> getMyFeedback(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long trainerId = trainerService.getTrainerByUserId(userPrincipal.getUser().getId()).getId();
+    public ResponseEntity<ApiResponse<List<FeedbackDto>>> getMyFeedback(CallerContext caller) {
+        Long trainerId = caller.requireTrainerId();
         
         List<FeedbackDto> feedback = feedbackService.getFeedbackByTrainer(trainerId);
         return ResponseEntity.ok(new ApiResponse<>(true, "Feedback retrieved successfully", feedback));
@@ -74,17 +70,15 @@ public class TrainerController {
 
     // Profile Management
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse<TrainerDto>> getProfile(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        TrainerDto trainer = trainerService.getTrainerByUserId(userPrincipal.getUser().getId());
+    public ResponseEntity<ApiResponse<TrainerDto>> getProfile(CallerContext caller) {
+        TrainerDto trainer = trainerService.getTrainerByUserId(caller.userId());
         return ResponseEntity.ok(new ApiResponse<>(true, "Profile retrieved successfully", trainer));
     }
 
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse<TrainerDto>> updateProfile(@Valid @RequestBody TrainerDto trainerDto, 
-            Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Long trainerId = trainerService.getTrainerByUserId(userPrincipal.getUser().getId()).getId();
+            CallerContext caller) {
+        Long trainerId = caller.requireTrainerId();
         
         TrainerDto updatedTrainer = trainerService.updateTrainer(trainerId, trainerDto);
         return ResponseEntity.ok(new ApiResponse<>(true, "Profile updated successfully", updatedTrainer));
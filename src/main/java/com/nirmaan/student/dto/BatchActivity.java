@@ -0,0 +1,13 @@
+package com.nirmaan.student.dto;
+
+public interface BatchActivity {
+	Long getBatchId();
+
+	String getBatchName();
+
+	String getCourseName();
+
+	Long getEnrolledStudents();
+
+	Long getCheckedInToday();
+}
@@ -1,9 +1,13 @@
 package com.nirmaan.student.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BatchDto {
 	private Long id;
 	private String batchName;
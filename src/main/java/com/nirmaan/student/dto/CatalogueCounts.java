@@ -0,0 +1,15 @@
+package com.nirmaan.student.dto;
+
+public interface CatalogueCounts {
+	Long getTotalCourses();
+
+	Long getActiveCourses();
+
+	Long getTotalBatches();
+
+	Long getActiveBatches();
+
+	Long getTotalQuizzes();
+
+	Long getActiveQuizzes();
+}
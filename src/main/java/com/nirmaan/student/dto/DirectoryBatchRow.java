@@ -0,0 +1,11 @@
+package com.nirmaan.student.dto;
+
+public interface DirectoryBatchRow {
+	Long getId();
+
+	String getBatchName();
+
+	String getCourseName();
+
+	boolean isActive();
+}
@@ -0,0 +1,27 @@
+package com.nirmaan.student.dto;
+
+import com.nirmaan.student.enums.Role;
+
+public interface DirectoryPersonRow {
+	Long getUserId();
+
+	String getUsername();
+
+	String getEmail();
+
+	String getFirstName();
+
+	String getLastName();
+
+	Role getRole();
+
+	boolean isActive();
+
+	Long getStudentId();
+
+	String getStudentCode();
+
+	Long getTrainerId();
+
+	String getTrainerCode();
+}
@@ -1,12 +1,16 @@
 package com.nirmaan.student.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 import com.nirmaan.student.enums.FeedbackType;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class FeedbackDto {
 	private Long id;
 	private String studentName;
@@ -0,0 +1,23 @@
+package com.nirmaan.student.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+import com.nirmaan.student.enums.FeedbackType;
+
+@Data
+public class FeedbackFilter {
+	private Integer rating;
+	private Boolean anonymous;
+	private FeedbackType feedbackType;
+	private Long trainerId;
+	private Long courseId;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime from;
+
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+	private LocalDateTime to;
+}
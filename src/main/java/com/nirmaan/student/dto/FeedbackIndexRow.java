@@ -0,0 +1,17 @@
+package com.nirmaan.student.dto;
+
+import java.time.LocalDateTime;
+
+public interface FeedbackIndexRow {
+	Long getId();
+
+	String getComments();
+
+	Long getTrainerId();
+
+	Long getCourseId();
+
+	Integer getRating();
+
+	LocalDateTime getSubmittedAt();
+}
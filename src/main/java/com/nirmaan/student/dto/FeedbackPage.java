@@ -0,0 +1,15 @@
+package com.nirmaan.student.dto;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedbackPage {
+	private List<FeedbackDto> items;
+	private String nextCursor; // null on the last page
+}
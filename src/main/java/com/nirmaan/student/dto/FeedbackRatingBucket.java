@@ -0,0 +1,13 @@
+package com.nirmaan.student.dto;
+
+/**
+ * One row of the feedback rating aggregate: how many feedback entries share a
+ * given rating and anonymity flag.
+ */
+public interface FeedbackRatingBucket {
+	Integer getRating();
+
+	Boolean getAnonymous();
+
+	Long getTotal();
+}
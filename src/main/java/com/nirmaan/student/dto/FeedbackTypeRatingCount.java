@@ -0,0 +1,11 @@
+package com.nirmaan.student.dto;
+
+import com.nirmaan.student.enums.FeedbackType;
+
+public interface FeedbackTypeRatingCount {
+	FeedbackType getFeedbackType();
+
+	Integer getRating();
+
+	Long getTotal();
+}
@@ -0,0 +1,15 @@
+package com.nirmaan.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeywordTrendDto {
+	private String term;
+	private long estimatedCount;
+	// The true count is at least estimatedCount - maxError
+	private long maxError;
+}
@@ -0,0 +1,19 @@
+package com.nirmaan.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ListingPage<T> {
+	private List<T> items;
+	private int page;
+	private int size;
+	private boolean hasNext;
+	private long totalElements;
+	private boolean totalApproximate; // true when totalElements may be up to the count cache TTL stale
+}
@@ -10,6 +10,7 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class LoginResponse {
 	private String token;
+	private String refreshToken;
 	private String username;
 	private String email;
 	private Role role;
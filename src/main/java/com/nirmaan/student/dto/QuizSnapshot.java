@@ -0,0 +1,39 @@
+package com.nirmaan.student.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.nirmaan.student.enums.CourseType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of a quiz at a given content version. A snapshot never changes
+ * once built, so it can be shared across requests and cached until the quiz is
+ * edited, which produces a new version.
+ */
+public record QuizSnapshot(
+        Long quizId,
+        int version,
+        String title,
+        String description,
+        CourseType courseType,
+        Integer timeLimit,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        List<Item> questions,
+        @JsonIgnore Map<Long, String> answerKey) {
+
+    public QuizSnapshot {
+        questions = List.copyOf(questions);
+        answerKey = Map.copyOf(answerKey);
+    }
+
+    public String etag() {
+        return "\"quiz-" + quizId + "-v" + version + "\"";
+    }
+
+    public record Item(Long id, String questionText, String optionA, String optionB, String optionC,
+            String optionD, Integer marks) {
+    }
+}
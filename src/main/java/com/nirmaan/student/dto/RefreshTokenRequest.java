@@ -0,0 +1,10 @@
+package com.nirmaan.student.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+	@NotBlank
+	private String refreshToken;
+}
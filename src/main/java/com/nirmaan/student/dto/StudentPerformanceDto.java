@@ -0,0 +1,28 @@
+package com.nirmaan.student.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.nirmaan.student.enums.CourseType;
+
+@Data
+public class StudentPerformanceDto {
+	private Long studentId;
+	private int attempts;
+	private double averageScore;
+	private int bestScore;
+	private Map<CourseType, CourseStats> courseBreakdown;
+	private List<Integer> recentScores;
+	private double recentTrend; // average of the later half of recentScores minus the earlier half
+	private LocalDateTime updatedAt;
+
+	@Data
+	public static class CourseStats {
+		private int attempts;
+		private double averageScore;
+		private int bestScore;
+	}
+}
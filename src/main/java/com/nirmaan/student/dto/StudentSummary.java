@@ -0,0 +1,29 @@
+package com.nirmaan.student.dto;
+
+import com.nirmaan.student.enums.CourseType;
+
+import java.time.LocalDate;
+
+public interface StudentSummary {
+	Long getId();
+
+	String getStudentId();
+
+	String getUsername();
+
+	String getEmail();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getPhoneNumber();
+
+	CourseType getEnrolledCourse();
+
+	String getBatchName();
+
+	LocalDate getEnrollmentDate();
+
+	boolean isActive();
+}
@@ -0,0 +1,11 @@
+package com.nirmaan.student.dto;
+
+public interface TrainerActivity {
+	Long getActiveQuizzes();
+
+	Long getPendingQuizzes();
+
+	Double getAverageRating();
+
+	Long getFeedbackCount();
+}
@@ -0,0 +1,27 @@
+package com.nirmaan.student.dto;
+
+import java.time.LocalDate;
+
+public interface TrainerSummary {
+	Long getId();
+
+	String getTrainerId();
+
+	String getUsername();
+
+	String getEmail();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getPhoneNumber();
+
+	String getSpecialization();
+
+	Integer getExperienceYears();
+
+	LocalDate getJoiningDate();
+
+	boolean isActive();
+}
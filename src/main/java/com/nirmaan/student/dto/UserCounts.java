@@ -0,0 +1,11 @@
+package com.nirmaan.student.dto;
+
+public interface UserCounts {
+	Long getTotalUsers();
+
+	Long getTotalStudents();
+
+	Long getTotalTrainers();
+
+	Long getActiveUsers();
+}
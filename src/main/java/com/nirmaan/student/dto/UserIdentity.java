@@ -0,0 +1,7 @@
+package com.nirmaan.student.dto;
+
+public interface UserIdentity {
+	String getUsername();
+
+	String getEmail();
+}
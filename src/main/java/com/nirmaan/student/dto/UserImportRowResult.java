@@ -0,0 +1,16 @@
+package com.nirmaan.student.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRowResult {
+	private int rowNumber;
+	private String username;
+	private boolean created;
+	private Long userId;
+	private String message;
+}
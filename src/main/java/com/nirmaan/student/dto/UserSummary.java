@@ -0,0 +1,23 @@
+package com.nirmaan.student.dto;
+
+import com.nirmaan.student.enums.Role;
+
+import java.time.LocalDateTime;
+
+public interface UserSummary {
+	Long getId();
+
+	String getUsername();
+
+	String getEmail();
+
+	String getFirstName();
+
+	String getLastName();
+
+	Role getRole();
+
+	boolean isActive();
+
+	LocalDateTime getCreatedAt();
+}
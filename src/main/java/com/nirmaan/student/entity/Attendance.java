@@ -9,9 +9,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import com.nirmaan.student.enums.AttendanceStatus;
+import com.nirmaan.student.event.DomainWriteListener;
 
 @Entity
 @Table(name = "attendance")
+@EntityListeners(DomainWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
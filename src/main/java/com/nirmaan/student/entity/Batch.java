@@ -7,8 +7,11 @@ import lombok.AllArgsConstructor;
 
 import java.time.LocalDate;
 
+import com.nirmaan.student.event.DomainWriteListener;
+
 @Entity
 @Table(name = "batches")
+@EntityListeners(DomainWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,11 +22,11 @@ public class Batch {
 
 	private String batchName;
 
-	@ManyToOne(fetch = FetchType.EAGER) 
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "course_id")
 	private Course course;
 
-	@ManyToOne(fetch = FetchType.EAGER) 
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "trainer_id")
 	private Trainer trainer;
 
@@ -2,13 +2,18 @@ package com.nirmaan.student.entity;
 
 import com.nirmaan.student.enums.CourseType;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import com.nirmaan.student.event.DomainWriteListener;
+
 @Entity
 @Table(name = "courses")
+@EntityListeners(DomainWriteListener.class)
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
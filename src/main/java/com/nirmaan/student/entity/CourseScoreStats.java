@@ -0,0 +1,16 @@
+package com.nirmaan.student.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseScoreStats {
+	private int attempts;
+	private long totalScore;
+	private int bestScore;
+}
@@ -8,9 +8,17 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 import com.nirmaan.student.enums.FeedbackType;
+import com.nirmaan.student.event.DomainWriteListener;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+		@Index(name = "idx_feedback_submitted_at", columnList = "submittedAt"),
+		@Index(name = "idx_feedback_rating_anonymous", columnList = "rating, anonymous, submittedAt"),
+		@Index(name = "idx_feedback_anonymous", columnList = "anonymous, submittedAt"),
+		@Index(name = "idx_feedback_type", columnList = "feedbackType, submittedAt"),
+		@Index(name = "idx_feedback_trainer", columnList = "trainer_id, submittedAt"),
+		@Index(name = "idx_feedback_course", columnList = "course_id, submittedAt") })
+@EntityListeners(DomainWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
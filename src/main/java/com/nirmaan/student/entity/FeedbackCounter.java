@@ -0,0 +1,36 @@
+package com.nirmaan.student.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import com.nirmaan.student.enums.FeedbackType;
+
+/**
+ * Running totals for one feedback type, maintained alongside every feedback
+ * write so the summary never has to scan the feedback table.
+ */
+@Entity
+@Table(name = "feedback_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackCounter {
+	@Id
+	@Enumerated(EnumType.STRING)
+	@Column(length = 32)
+	private FeedbackType feedbackType;
+
+	private long totalCount;
+	private long ratingSum;
+	private long rating1Count;
+	private long rating2Count;
+	private long rating3Count;
+	private long rating4Count;
+	private long rating5Count;
+
+	public FeedbackCounter(FeedbackType feedbackType) {
+		this.feedbackType = feedbackType;
+	}
+}
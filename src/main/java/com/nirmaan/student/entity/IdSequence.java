@@ -0,0 +1,23 @@
+package com.nirmaan.student.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Next unreserved value of one business-id counter, e.g. "STD2026". Servers
+ * reserve blocks by advancing it and hand ids out from memory.
+ */
+@Entity
+@Table(name = "id_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdSequence {
+	@Id
+	@Column(length = 32)
+	private String name;
+
+	private long nextValue;
+}
@@ -9,9 +9,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.nirmaan.student.enums.CourseType;
+import com.nirmaan.student.event.DomainWriteListener;
 
 @Entity
 @Table(name = "quizzes")
+@EntityListeners(DomainWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,6 +41,9 @@ public class Quiz {
 	private LocalDateTime endTime;
 	private boolean active = true;
 
+	// Bumped on every content edit; attempts record the version they were graded against
+	private int contentVersion = 1;
+
 	@OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	private List<Question> questions;
 }
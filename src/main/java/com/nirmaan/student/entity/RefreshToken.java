@@ -0,0 +1,43 @@
+package com.nirmaan.student.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One refresh token in a rotation family. Only the SHA-256 hash of the token is
+ * stored; every refresh revokes the presented token and issues its successor in
+ * the same family.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = { @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+		@Index(name = "idx_refresh_tokens_expires", columnList = "expires_at") })
+@Data
+@NoArgsConstructor
+public class RefreshToken {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "token_hash", nullable = false, unique = true, length = 64)
+	private String tokenHash;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "user_id", nullable = false)
+	private User user;
+
+	@Column(name = "family_id", nullable = false, length = 36)
+	private String familyId;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+
+	private LocalDateTime createdAt;
+
+	private LocalDateTime revokedAt;
+
+	// Id of the token this one was exchanged for
+	private Long replacedBy;
+}
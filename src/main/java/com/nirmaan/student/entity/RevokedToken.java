@@ -0,0 +1,31 @@
+package com.nirmaan.student.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An access token that must be refused before it expires, identified by its
+ * jti claim. Rows are purged once the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+public class RevokedToken {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, unique = true, length = 36)
+	private String jti;
+
+	private Long userId;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+
+	private LocalDateTime revokedAt;
+}
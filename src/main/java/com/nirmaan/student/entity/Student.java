@@ -8,9 +8,11 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDate;
 
 import com.nirmaan.student.enums.CourseType;
+import com.nirmaan.student.event.DomainWriteListener;
 
 @Entity
 @Table(name = "students")
+@EntityListeners(DomainWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +25,7 @@ public class Student {
     @JoinColumn(name = "user_id")
     private User user;
 
+    @Column(unique = true)
     private String studentId;
     private LocalDate dateOfBirth;
     private String address;
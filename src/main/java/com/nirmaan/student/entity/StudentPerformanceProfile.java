@@ -0,0 +1,42 @@
+package com.nirmaan.student.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.nirmaan.student.enums.CourseType;
+
+@Entity
+@Table(name = "student_performance_profiles")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentPerformanceProfile {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(unique = true, nullable = false)
+	private Long studentId;
+
+	private int attempts;
+	private long totalScore;
+	private int bestScore;
+
+	// Most recent scores, oldest first, comma separated
+	private String recentScores;
+
+	@ElementCollection(fetch = FetchType.EAGER)
+	@CollectionTable(name = "student_performance_course_stats", joinColumns = @JoinColumn(name = "profile_id"))
+	@MapKeyEnumerated(EnumType.STRING)
+	@MapKeyColumn(name = "course_type")
+	private Map<CourseType, CourseScoreStats> courseStats = new HashMap<>();
+
+	// Null while the row is a placeholder not yet backfilled from existing attempts
+	private LocalDateTime updatedAt;
+}
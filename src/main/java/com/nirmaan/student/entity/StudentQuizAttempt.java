@@ -7,8 +7,11 @@ import lombok.AllArgsConstructor;
 
 import java.time.LocalDateTime;
 
+import com.nirmaan.student.event.DomainWriteListener;
+
 @Entity
 @Table(name = "student_quiz_attempts")
+@EntityListeners(DomainWriteListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,4 +35,5 @@ public class StudentQuizAttempt {
 	private Integer score;
 	private String answers; // JSON string storing answers
 	private boolean completed = false;
+	private Integer quizVersion;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.nirmaan.student.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -7,8 +8,12 @@ import lombok.AllArgsConstructor;
 
 import java.time.LocalDate;
 
+import com.nirmaan.student.event.DomainWriteListener;
+
 @Entity
 @Table(name = "trainers")
+@EntityListeners(DomainWriteListener.class)
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,6 +26,7 @@ public class Trainer {
 	@JoinColumn(name = "user_id")
 	private User user;
 
+	@Column(unique = true)
 	private String trainerId;
 	private String specialization;
 	private String qualifications;
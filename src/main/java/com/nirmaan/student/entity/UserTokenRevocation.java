@@ -0,0 +1,28 @@
+package com.nirmaan.student.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Revokes every access token of one user issued up to {@code revokedBefore},
+ * for when the individual jtis are unknown, such as a deactivated account or
+ * a leaked refresh token. Rows are purged once the newest token they cover
+ * would have expired anyway.
+ */
+@Entity
+@Table(name = "user_token_revocations", indexes = @Index(name = "idx_user_token_revocations_expires", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+public class UserTokenRevocation {
+	@Id
+	private Long userId;
+
+	@Column(nullable = false)
+	private LocalDateTime revokedBefore;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+}
@@ -0,0 +1,31 @@
+package com.nirmaan.student.event;
+
+import java.util.Set;
+
+/**
+ * Published whenever a tracked entity is inserted, updated or deleted, so
+ * read-side caches can drop what the write made stale. Listeners that rebuild
+ * from the database should use {@code @TransactionalEventListener} to act only
+ * once the write has committed. {@code entityId} is null when one bulk write
+ * touched many rows. {@code trainerIds} names the trainers whose dashboards the
+ * write shows up on, for attendance, quiz attempts and feedback; it is empty
+ * for everything else.
+ */
+public record DomainWriteEvent(Domain domain, WriteType type, Long entityId, Set<Long> trainerIds) {
+
+    public enum Domain {
+        USER, STUDENT, TRAINER, COURSE, BATCH, QUIZ, QUIZ_ATTEMPT, ATTENDANCE, FEEDBACK
+    }
+
+    public enum WriteType {
+        CREATED, UPDATED, DELETED
+    }
+
+    public DomainWriteEvent {
+        trainerIds = trainerIds != null ? Set.copyOf(trainerIds) : Set.of();
+    }
+
+    public DomainWriteEvent(Domain domain, WriteType type, Long entityId) {
+        this(domain, type, entityId, Set.of());
+    }
+}
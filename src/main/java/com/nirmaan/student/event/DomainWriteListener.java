@@ -0,0 +1,91 @@
+package com.nirmaan.student.event;
+
+import com.nirmaan.student.entity.Attendance;
+import com.nirmaan.student.entity.Batch;
+import com.nirmaan.student.entity.Course;
+import com.nirmaan.student.entity.Feedback;
+import com.nirmaan.student.entity.Quiz;
+import com.nirmaan.student.entity.Student;
+import com.nirmaan.student.entity.StudentQuizAttempt;
+import com.nirmaan.student.entity.Trainer;
+import com.nirmaan.student.entity.User;
+import com.nirmaan.student.event.DomainWriteEvent.Domain;
+import com.nirmaan.student.event.DomainWriteEvent.WriteType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * JPA entity listener that turns entity lifecycle callbacks into
+ * {@link DomainWriteEvent}s. Hooking the persistence layer rather than each
+ * service means no write path can forget to publish.
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainWriteListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void created(Object entity) {
+        publish(entity, WriteType.CREATED);
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        publish(entity, WriteType.UPDATED);
+    }
+
+    @PostRemove
+    public void deleted(Object entity) {
+        publish(entity, WriteType.DELETED);
+    }
+
+    private void publish(Object entity, WriteType type) {
+        if (entity instanceof User user) {
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.USER, type, user.getId()));
+        } else if (entity instanceof Student student) {
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.STUDENT, type, student.getId()));
+        } else if (entity instanceof Trainer trainer) {
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.TRAINER, type, trainer.getId()));
+        } else if (entity instanceof Course course) {
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.COURSE, type, course.getId()));
+        } else if (entity instanceof Batch batch) {
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.BATCH, type, batch.getId()));
+        } else if (entity instanceof Quiz quiz) {
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.QUIZ, type, quiz.getId()));
+        } else if (entity instanceof StudentQuizAttempt attempt) {
+            Quiz quiz = attempt.getQuiz();
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.QUIZ_ATTEMPT, type, attempt.getId(),
+                    quiz != null ? trainerIds(quiz.getTrainer(), batchTrainer(quiz.getBatch())) : Set.of()));
+        } else if (entity instanceof Attendance attendance) {
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.ATTENDANCE, type, attendance.getId(),
+                    trainerIds(batchTrainer(attendance.getBatch()))));
+        } else if (entity instanceof Feedback feedback) {
+            eventPublisher.publishEvent(new DomainWriteEvent(Domain.FEEDBACK, type, feedback.getId(),
+                    trainerIds(feedback.getTrainer())));
+        }
+    }
+
+    // Matches the trainer dashboard: a quiz belongs to its own trainer and to its batch's trainer
+    private static Set<Long> trainerIds(Trainer... trainers) {
+        Set<Long> ids = new HashSet<>();
+        for (Trainer trainer : trainers) {
+            // Reading the id of a lazy proxy does not load it
+            if (trainer != null && trainer.getId() != null) {
+                ids.add(trainer.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static Trainer batchTrainer(Batch batch) {
+        return batch != null ? batch.getTrainer() : null;
+    }
+}
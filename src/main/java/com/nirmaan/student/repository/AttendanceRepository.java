@@ -20,6 +20,8 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
 	List<Attendance> findByAttendanceDate(LocalDate date);
 
+	long countByAttendanceDate(LocalDate date);
+
 	Optional<Attendance> findByStudentAndAttendanceDate(Student student, LocalDate date);
 
 	@Query("SELECT a FROM Attendance a WHERE a.student = :student AND a.attendanceDate BETWEEN :startDate AND :endDate")
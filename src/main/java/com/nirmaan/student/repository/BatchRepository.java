@@ -1,12 +1,20 @@
 package com.nirmaan.student.repository;
 
+import com.nirmaan.student.dto.BatchActivity;
+import com.nirmaan.student.dto.BatchDto;
+import com.nirmaan.student.dto.DirectoryBatchRow;
 import com.nirmaan.student.entity.Batch;
 import com.nirmaan.student.entity.Trainer;
 import com.nirmaan.student.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BatchRepository extends JpaRepository<Batch, Long> {
@@ -15,4 +23,51 @@ public interface BatchRepository extends JpaRepository<Batch, Long> {
 	List<Batch> findByCourse(Course course);
 
 	List<Batch> findByActiveTrue();
+
+	long countByActiveTrue();
+
+	// One row per active batch of the trainer, with enrolment and today's distinct check-ins
+	@Query("SELECT b.id AS batchId, b.batchName AS batchName, c.courseName AS courseName, "
+			+ "(SELECT COUNT(s) FROM Student s WHERE s.batch = b) AS enrolledStudents, "
+			+ "(SELECT COUNT(DISTINCT a.student.id) FROM Attendance a WHERE a.batch = b "
+			+ "AND a.attendanceDate = :today "
+			+ "AND a.status IN (com.nirmaan.student.enums.AttendanceStatus.PRESENT, "
+			+ "com.nirmaan.student.enums.AttendanceStatus.LATE)) AS checkedInToday "
+			+ "FROM Batch b LEFT JOIN b.course c "
+			+ "WHERE b.trainer.id = :trainerId AND b.active = true ORDER BY b.batchName")
+	List<BatchActivity> findActivityByTrainer(@Param("trainerId") Long trainerId, @Param("today") LocalDate today);
+
+	// Read model: one row per batch with its course, trainer name and enrolment, without loading entities
+	String BATCH_DTO_SELECT = "SELECT new com.nirmaan.student.dto.BatchDto(b.id, b.batchName, c.id, c.courseName, "
+			+ "t.id, CASE WHEN tu.id IS NOT NULL THEN CONCAT(tu.firstName, ' ', tu.lastName) END, "
+			+ "b.startDate, b.endDate, b.maxStudents, "
+			+ "CAST((SELECT COUNT(s) FROM Student s WHERE s.batch = b) AS Integer), b.schedule, b.active) "
+			+ "FROM Batch b LEFT JOIN b.course c LEFT JOIN b.trainer t LEFT JOIN t.user tu ";
+
+	@Query(BATCH_DTO_SELECT + "ORDER BY b.id")
+	List<BatchDto> findDtos();
+
+	@Query(BATCH_DTO_SELECT + "WHERE b.active = true ORDER BY b.id")
+	List<BatchDto> findActiveDtos();
+
+	@Query(BATCH_DTO_SELECT + "WHERE b.id = :id")
+	Optional<BatchDto> findDtoById(@Param("id") Long id);
+
+	@Query(BATCH_DTO_SELECT + "WHERE t.id = :trainerId ORDER BY b.id")
+	List<BatchDto> findDtosByTrainerId(@Param("trainerId") Long trainerId);
+
+	@Query(BATCH_DTO_SELECT + "WHERE c.id = :courseId ORDER BY b.id")
+	List<BatchDto> findDtosByCourseId(@Param("courseId") Long courseId);
+
+	String DIRECTORY_BATCH_SELECT = "SELECT b.id AS id, b.batchName AS batchName, c.courseName AS courseName, "
+			+ "b.active AS active FROM Batch b LEFT JOIN b.course c ";
+
+	@Query(DIRECTORY_BATCH_SELECT)
+	List<DirectoryBatchRow> findDirectoryRows();
+
+	@Query(DIRECTORY_BATCH_SELECT + "WHERE b.id IN :batchIds")
+	List<DirectoryBatchRow> findDirectoryRowsByIds(@Param("batchIds") Collection<Long> batchIds);
+
+	@Query(DIRECTORY_BATCH_SELECT + "WHERE c.id IN :courseIds")
+	List<DirectoryBatchRow> findDirectoryRowsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -1,8 +1,10 @@
 package com.nirmaan.student.repository;
 
+import com.nirmaan.student.dto.CatalogueCounts;
 import com.nirmaan.student.entity.Course;
 import com.nirmaan.student.enums.CourseType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,15 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 	Optional<Course> findByCourseType(CourseType courseType);
 
 	List<Course> findByActiveTrue();
+
+	long countByActiveTrue();
+
+	@Query(nativeQuery = true, value = "SELECT "
+			+ "(SELECT COUNT(*) FROM courses) AS totalCourses, "
+			+ "(SELECT COUNT(*) FROM courses WHERE active = TRUE) AS activeCourses, "
+			+ "(SELECT COUNT(*) FROM batches) AS totalBatches, "
+			+ "(SELECT COUNT(*) FROM batches WHERE active = TRUE) AS activeBatches, "
+			+ "(SELECT COUNT(*) FROM quizzes) AS totalQuizzes, "
+			+ "(SELECT COUNT(*) FROM quizzes WHERE active = TRUE) AS activeQuizzes")
+	CatalogueCounts countCatalogueTotals();
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.nirmaan.student.repository;
+
+import com.nirmaan.student.entity.FeedbackCounter;
+import com.nirmaan.student.enums.FeedbackType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FeedbackCounterRepository extends JpaRepository<FeedbackCounter, FeedbackType> {
+
+	// Single UPDATE so concurrent writers only hold the row lock, never read-modify-write
+	@Modifying
+	@Query("UPDATE FeedbackCounter c SET c.totalCount = c.totalCount + :delta, "
+			+ "c.ratingSum = c.ratingSum + :delta * :rating, "
+			+ "c.rating1Count = c.rating1Count + CASE WHEN :rating = 1 THEN :delta ELSE 0 END, "
+			+ "c.rating2Count = c.rating2Count + CASE WHEN :rating = 2 THEN :delta ELSE 0 END, "
+			+ "c.rating3Count = c.rating3Count + CASE WHEN :rating = 3 THEN :delta ELSE 0 END, "
+			+ "c.rating4Count = c.rating4Count + CASE WHEN :rating = 4 THEN :delta ELSE 0 END, "
+			+ "c.rating5Count = c.rating5Count + CASE WHEN :rating = 5 THEN :delta ELSE 0 END "
+			+ "WHERE c.feedbackType = :feedbackType")
+	int increment(@Param("feedbackType") FeedbackType feedbackType, @Param("rating") int rating,
+			@Param("delta") long delta);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c FROM FeedbackCounter c")
+	List<FeedbackCounter> findAllForUpdate();
+}
@@ -1,13 +1,21 @@
 package com.nirmaan.student.repository;
 
+import com.nirmaan.student.dto.FeedbackDto;
+import com.nirmaan.student.dto.FeedbackIndexRow;
+import com.nirmaan.student.dto.FeedbackRatingBucket;
+import com.nirmaan.student.dto.FeedbackTypeRatingCount;
 import com.nirmaan.student.entity.Feedback;
 import com.nirmaan.student.entity.Student;
 import com.nirmaan.student.entity.Trainer;
 import com.nirmaan.student.entity.Course;
 import com.nirmaan.student.enums.FeedbackType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,4 +27,55 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
 	List<Feedback> findByCourse(Course course);
 
 	List<Feedback> findByFeedbackType(FeedbackType feedbackType);
+
+	List<Feedback> findByOrderBySubmittedAtDescIdDesc(Pageable pageable);
+
+	// Null filters are ignored, so one pass serves the trainer, course, type and overall analytics
+	@Query("SELECT f.rating AS rating, f.anonymous AS anonymous, COUNT(f) AS total FROM Feedback f "
+			+ "WHERE (:trainerId IS NULL OR f.trainer.id = :trainerId) "
+			+ "AND (:courseId IS NULL OR f.course.id = :courseId) "
+			+ "AND (:feedbackType IS NULL OR f.feedbackType = :feedbackType) "
+			+ "GROUP BY f.rating, f.anonymous")
+	List<FeedbackRatingBucket> aggregateRatings(@Param("trainerId") Long trainerId, @Param("courseId") Long courseId,
+			@Param("feedbackType") FeedbackType feedbackType);
+
+	@Query("SELECT f.feedbackType AS feedbackType, f.rating AS rating, COUNT(f) AS total FROM Feedback f "
+			+ "GROUP BY f.feedbackType, f.rating")
+	List<FeedbackTypeRatingCount> countByTypeAndRating();
+
+	// Walk the table in id order for rebuilding in-memory comment structures
+	@Query("SELECT f.id AS id, f.comments AS comments, t.id AS trainerId, c.id AS courseId, f.rating AS rating, "
+			+ "f.submittedAt AS submittedAt "
+			+ "FROM Feedback f LEFT JOIN f.trainer t LEFT JOIN f.course c WHERE f.id > :afterId ORDER BY f.id")
+	List<FeedbackIndexRow> findIndexRows(@Param("afterId") Long afterId, Pageable pageable);
+
+	@Query("SELECT f.id AS id, f.comments AS comments, t.id AS trainerId, c.id AS courseId, f.rating AS rating, "
+			+ "f.submittedAt AS submittedAt "
+			+ "FROM Feedback f LEFT JOIN f.trainer t LEFT JOIN f.course c "
+			+ "WHERE f.submittedAt >= :since AND f.id > :afterId ORDER BY f.id")
+	List<FeedbackIndexRow> findIndexRowsSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+			Pageable pageable);
+
+	// Newest first, keyset-paginated: pass the last row's (submittedAt, id) to get the next page
+	@Query("SELECT new com.nirmaan.student.dto.FeedbackDto(f.id, "
+			+ "CASE WHEN f.anonymous = false AND su.id IS NOT NULL THEN CONCAT(su.firstName, ' ', su.lastName) END, "
+			+ "CASE WHEN tu.id IS NOT NULL THEN CONCAT(tu.firstName, ' ', tu.lastName) END, "
+			+ "c.courseName, f.feedbackType, f.rating, f.comments, f.anonymous, f.submittedAt) "
+			+ "FROM Feedback f LEFT JOIN f.student s LEFT JOIN s.user su "
+			+ "LEFT JOIN f.trainer t LEFT JOIN t.user tu LEFT JOIN f.course c "
+			+ "WHERE (:rating IS NULL OR f.rating = :rating) "
+			+ "AND (:anonymous IS NULL OR f.anonymous = :anonymous) "
+			+ "AND (:feedbackType IS NULL OR f.feedbackType = :feedbackType) "
+			+ "AND (:trainerId IS NULL OR f.trainer.id = :trainerId) "
+			+ "AND (:courseId IS NULL OR f.course.id = :courseId) "
+			+ "AND (:from IS NULL OR f.submittedAt >= :from) "
+			+ "AND (:to IS NULL OR f.submittedAt < :to) "
+			+ "AND (:afterSubmittedAt IS NULL OR f.submittedAt < :afterSubmittedAt "
+			+ "OR (f.submittedAt = :afterSubmittedAt AND f.id < :afterId)) "
+			+ "ORDER BY f.submittedAt DESC, f.id DESC")
+	List<FeedbackDto> filter(@Param("rating") Integer rating, @Param("anonymous") Boolean anonymous,
+			@Param("feedbackType") FeedbackType feedbackType, @Param("trainerId") Long trainerId,
+			@Param("courseId") Long courseId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+			@Param("afterSubmittedAt") LocalDateTime afterSubmittedAt, @Param("afterId") Long afterId,
+			Pageable pageable);
 }
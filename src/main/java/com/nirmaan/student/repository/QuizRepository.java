@@ -18,4 +18,6 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
 	List<Quiz> findByCourseType(CourseType courseType);
 
 	List<Quiz> findByActiveTrue();
+
+	long countByActiveTrue();
 }
@@ -0,0 +1,31 @@
+package com.nirmaan.student.repository;
+
+import com.nirmaan.student.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+	@Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+	Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+	// Conditional so two concurrent refreshes of one token cannot both succeed
+	@Modifying
+	@Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.revokedAt IS NULL")
+	int revoke(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+	int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+	@Modifying
+	@Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :before")
+	int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,23 @@
+package com.nirmaan.student.repository;
+
+import com.nirmaan.student.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+	boolean existsByJti(String jti);
+
+	List<RevokedToken> findByExpiresAtGreaterThanEqual(LocalDateTime now);
+
+	@Modifying
+	@Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :before")
+	int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
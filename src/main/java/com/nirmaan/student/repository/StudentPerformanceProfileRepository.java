@@ -0,0 +1,22 @@
+package com.nirmaan.student.repository;
+
+import com.nirmaan.student.entity.StudentPerformanceProfile;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StudentPerformanceProfileRepository extends JpaRepository<StudentPerformanceProfile, Long> {
+	Optional<StudentPerformanceProfile> findByStudentId(Long studentId);
+
+	boolean existsByStudentId(Long studentId);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM StudentPerformanceProfile p WHERE p.studentId = :studentId")
+	Optional<StudentPerformanceProfile> findByStudentIdForUpdate(@Param("studentId") Long studentId);
+}
@@ -1,9 +1,14 @@
 package com.nirmaan.student.repository;
 
+import com.nirmaan.student.dto.StudentSummary;
 import com.nirmaan.student.entity.Student;
 import com.nirmaan.student.entity.Batch;
 import com.nirmaan.student.enums.CourseType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,9 +20,21 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
 	Optional<Student> findByUserId(Long userId);
 
+	@Query("SELECT s.id FROM Student s WHERE s.user.id = :userId")
+	Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
 	List<Student> findByBatch(Batch batch);
 
 	List<Student> findByEnrolledCourse(CourseType courseType);
 
 	boolean existsByStudentId(String studentId);
+
+	long countByEnrolledCourse(CourseType courseType);
+
+	@Query("SELECT s.id AS id, s.studentId AS studentId, u.username AS username, u.email AS email, "
+			+ "u.firstName AS firstName, u.lastName AS lastName, u.phoneNumber AS phoneNumber, "
+			+ "s.enrolledCourse AS enrolledCourse, b.batchName AS batchName, s.enrollmentDate AS enrollmentDate, "
+			+ "u.active AS active FROM Student s JOIN s.user u LEFT JOIN s.batch b "
+			+ "WHERE (:course IS NULL OR s.enrolledCourse = :course)")
+	Slice<StudentSummary> findSummaries(@Param("course") CourseType course, Pageable pageable);
 }
@@ -1,9 +1,16 @@
 package com.nirmaan.student.repository;
 
+import com.nirmaan.student.dto.TrainerActivity;
+import com.nirmaan.student.dto.TrainerSummary;
 import com.nirmaan.student.entity.Trainer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +20,28 @@ public interface TrainerRepository extends JpaRepository<Trainer, Long> {
 
 	Optional<Trainer> findByUserId(Long userId);
 
+	@Query("SELECT t.id FROM Trainer t WHERE t.user.id = :userId")
+	Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
 	List<Trainer> findBySpecialization(String specialization);
 
 	boolean existsByTrainerId(String trainerId);
+
+	@Query("SELECT t.id AS id, t.trainerId AS trainerId, u.username AS username, u.email AS email, "
+			+ "u.firstName AS firstName, u.lastName AS lastName, u.phoneNumber AS phoneNumber, "
+			+ "t.specialization AS specialization, t.experienceYears AS experienceYears, "
+			+ "t.joiningDate AS joiningDate, u.active AS active FROM Trainer t JOIN t.user u")
+	Slice<TrainerSummary> findSummaries(Pageable pageable);
+
+	// Quizzes count when set by the trainer or attached to one of their batches
+	@Query("SELECT "
+			+ "(SELECT COUNT(q) FROM Quiz q LEFT JOIN q.batch qb "
+			+ "WHERE (q.trainer.id = t.id OR qb.trainer.id = t.id) AND q.active = true) AS activeQuizzes, "
+			+ "(SELECT COUNT(q) FROM Quiz q LEFT JOIN q.batch qb "
+			+ "WHERE (q.trainer.id = t.id OR qb.trainer.id = t.id) AND q.active = true "
+			+ "AND (q.endTime IS NULL OR q.endTime > :now)) AS pendingQuizzes, "
+			+ "(SELECT AVG(f.rating) FROM Feedback f WHERE f.trainer.id = t.id) AS averageRating, "
+			+ "(SELECT COUNT(f) FROM Feedback f WHERE f.trainer.id = t.id) AS feedbackCount "
+			+ "FROM Trainer t WHERE t.id = :trainerId")
+	Optional<TrainerActivity> findActivity(@Param("trainerId") Long trainerId, @Param("now") LocalDateTime now);
 }
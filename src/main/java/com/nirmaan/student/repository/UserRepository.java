@@ -1,11 +1,20 @@
 package com.nirmaan.student.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.nirmaan.student.dto.DirectoryPersonRow;
+import com.nirmaan.student.dto.UserCounts;
+import com.nirmaan.student.dto.UserIdentity;
+import com.nirmaan.student.dto.UserSummary;
 import com.nirmaan.student.entity.User;
 import com.nirmaan.student.enums.Role;
 
@@ -23,4 +32,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	List<User> findByRole(Role role);
 
 	List<User> findByActiveTrue();
+
+	long countByRole(Role role);
+
+	@Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.firstName AS firstName, "
+			+ "u.lastName AS lastName, u.role AS role, u.active AS active, u.createdAt AS createdAt "
+			+ "FROM User u WHERE (:role IS NULL OR u.role = :role)")
+	Slice<UserSummary> findSummaries(@Param("role") Role role, Pageable pageable);
+
+	@Query(nativeQuery = true, value = "SELECT "
+			+ "(SELECT COUNT(*) FROM users) AS totalUsers, "
+			+ "(SELECT COUNT(*) FROM users WHERE role = 'STUDENT') AS totalStudents, "
+			+ "(SELECT COUNT(*) FROM users WHERE role = 'TRAINER') AS totalTrainers, "
+			+ "(SELECT COUNT(*) FROM users WHERE active = TRUE) AS activeUsers")
+	UserCounts countUserTotals();
+
+	@Query("SELECT u.username AS username, u.email AS email FROM User u "
+			+ "WHERE u.username IN :usernames OR u.email IN :emails")
+	List<UserIdentity> findIdentities(@Param("usernames") Collection<String> usernames,
+			@Param("emails") Collection<String> emails);
+
+	String DIRECTORY_PERSON_SELECT = "SELECT u.id AS userId, u.username AS username, u.email AS email, "
+			+ "u.firstName AS firstName, u.lastName AS lastName, u.role AS role, u.active AS active, "
+			+ "s.id AS studentId, s.studentId AS studentCode, t.id AS trainerId, t.trainerId AS trainerCode "
+			+ "FROM User u LEFT JOIN Student s ON s.user = u LEFT JOIN Trainer t ON t.user = u ";
+
+	// Keyset pages in id order, for building the directory index
+	@Query(DIRECTORY_PERSON_SELECT + "WHERE u.id > :afterId ORDER BY u.id")
+	List<DirectoryPersonRow> findDirectoryRows(@Param("afterId") Long afterId, Pageable pageable);
+
+	@Query(DIRECTORY_PERSON_SELECT + "WHERE u.id IN :userIds")
+	List<DirectoryPersonRow> findDirectoryRowsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+	@Query(DIRECTORY_PERSON_SELECT + "WHERE s.id IN :studentIds")
+	List<DirectoryPersonRow> findDirectoryRowsByStudentIds(@Param("studentIds") Collection<Long> studentIds);
+
+	@Query(DIRECTORY_PERSON_SELECT + "WHERE t.id IN :trainerIds")
+	List<DirectoryPersonRow> findDirectoryRowsByTrainerIds(@Param("trainerIds") Collection<Long> trainerIds);
 }
@@ -0,0 +1,21 @@
+package com.nirmaan.student.repository;
+
+import com.nirmaan.student.entity.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+	List<UserTokenRevocation> findByExpiresAtGreaterThanEqual(LocalDateTime now);
+
+	@Modifying
+	@Query("DELETE FROM UserTokenRevocation r WHERE r.expiresAt < :before")
+	int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
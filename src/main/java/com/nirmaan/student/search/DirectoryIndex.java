@@ -0,0 +1,247 @@
+package com.nirmaan.student.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead index over people, courses and batches. Every word of
+ * an entry's fields is kept in sorted term maps, one per word length, so the
+ * entries matching a prefix are a few range scans away. A word scores higher
+ * the more of a term it covers and when the term is in the title, so scanning
+ * the shortest completions first lets a search stop as soon as no unseen
+ * entry could still make the top results. A multi-word query takes its
+ * candidates from the longest word and requires every other word to be a
+ * prefix of some term too.
+ */
+@Component
+public class DirectoryIndex {
+
+    private static final double TITLE_BONUS = 0.5;
+
+    public enum Kind {
+        USER, STUDENT, TRAINER, COURSE, BATCH
+    }
+
+    /**
+     * One searchable entry. The title and subtitle are shown as is; the
+     * title and every extra field are tokenised for matching.
+     */
+    public record Document(Kind kind, Long id, String title, String subtitle, boolean active,
+            List<String> fields) {
+    }
+
+    public record Hit(Kind kind, Long id, String title, String subtitle, boolean active, double score) {
+    }
+
+    private record Key(Kind kind, Long id) {
+    }
+
+    // Title terms come first in terms, so the first titleTermCount of them earn the title bonus
+    private record Entry(Document document, String[] terms, int titleTermCount) {
+    }
+
+    // Term length -> term -> entries containing it
+    private final NavigableMap<Integer, NavigableMap<String, Set<Key>>> postings = new TreeMap<>();
+    private final Map<Key, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Document document) {
+        Entry entry = toEntry(document);
+        lock.writeLock().lock();
+        try {
+            putLocked(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Kind kind, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(new Key(kind, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Swaps the whole content for {@code documents}, so a rebuild also drops
+     * entries whose rows have gone.
+     */
+    public void replaceAll(Collection<Document> documents) {
+        List<Entry> prepared = documents.stream().map(DirectoryIndex::toEntry).toList();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+            prepared.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best {@code limit} entries matching every word of
+     * {@code query} as a prefix, restricted to {@code kinds} unless it is
+     * empty.
+     */
+    public List<Hit> search(String query, Set<Kind> kinds, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        // The longest word usually has the fewest completions, so it picks the candidates
+        words.sort(Comparator.comparingInt(String::length).reversed());
+
+        String first = words.get(0);
+        // Any other word can add at most a whole title term to an unseen entry
+        double otherWordsBound = (words.size() - 1) * (1 + TITLE_BONUS);
+
+        Comparator<Hit> byScore = Comparator.comparingDouble(Hit::score)
+                .thenComparing(hit -> hit.title().length(), Comparator.reverseOrder());
+        PriorityQueue<Hit> top = new PriorityQueue<>(byScore);
+        lock.readLock().lock();
+        try {
+            Set<Key> seen = new HashSet<>();
+            for (Map.Entry<Integer, NavigableMap<String, Set<Key>>> bucket
+                    : postings.tailMap(first.length(), true).entrySet()) {
+                // An entry first reached here has no shorter term matching, so it cannot score above this
+                double bound = (double) first.length() / bucket.getKey() + TITLE_BONUS + otherWordsBound;
+                if (top.size() == limit && top.peek().score() >= bound) {
+                    break;
+                }
+                for (Set<Key> keys : prefixRange(bucket.getValue(), first).values()) {
+                    for (Key key : keys) {
+                        if (!seen.add(key) || (!kinds.isEmpty() && !kinds.contains(key.kind()))) {
+                            continue;
+                        }
+                        Entry entry = entries.get(key);
+                        double score = score(entry, words);
+                        if (score > 0 && (top.size() < limit || score > top.peek().score())) {
+                            Document document = entry.document();
+                            top.offer(new Hit(document.kind(), document.id(), document.title(),
+                                    document.subtitle(), document.active(), score));
+                            if (top.size() > limit) {
+                                top.poll();
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(byScore.reversed());
+        return hits;
+    }
+
+    // Sum of each word's best match; zero if any word matches nothing
+    private static double score(Entry entry, List<String> words) {
+        double total = 0;
+        for (String word : words) {
+            double best = 0;
+            String[] terms = entry.terms();
+            for (int i = 0; i < terms.length; i++) {
+                if (terms[i].startsWith(word)) {
+                    double match = (double) word.length() / terms[i].length();
+                    if (i < entry.titleTermCount()) {
+                        match += TITLE_BONUS;
+                    }
+                    best = Math.max(best, match);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static NavigableMap<String, Set<Key>> prefixRange(NavigableMap<String, Set<Key>> terms, String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void putLocked(Entry entry) {
+        Key key = new Key(entry.document().kind(), entry.document().id());
+        removeLocked(key);
+        entries.put(key, entry);
+        for (String term : entry.terms()) {
+            postings.computeIfAbsent(term.length(), length -> new TreeMap<>())
+                    .computeIfAbsent(term, t -> new HashSet<>()).add(key);
+        }
+    }
+
+    private void removeLocked(Key key) {
+        Entry previous = entries.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            NavigableMap<String, Set<Key>> terms = postings.get(term.length());
+            Set<Key> keys = terms != null ? terms.get(term) : null;
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        postings.remove(term.length());
+                    }
+                }
+            }
+        }
+    }
+
+    private static Entry toEntry(Document document) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(document.title()));
+        int titleTermCount = terms.size();
+        document.fields().forEach(field -> terms.addAll(tokenize(field)));
+        return new Entry(document, terms.toArray(String[]::new), titleTermCount);
+    }
+
+    // Unlike TextAnalyzer this keeps every word unstemmed: names and codes are matched as typed
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,162 @@
+package com.nirmaan.student.search;
+
+import com.nirmaan.student.util.TextAnalyzer;
+import com.nirmaan.student.util.TransactionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over feedback comments, ranked with BM25. The
+ * database stays the source of truth: the index is rebuilt from it at startup
+ * and kept current by the feedback write paths once their transaction commits.
+ */
+@Component
+public class FeedbackTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public record Document(Long id, String comments, Long trainerId, Long courseId, Integer rating) {
+    }
+
+    public record Hit(Long id, double score) {
+    }
+
+    private record Entry(Map<String, Integer> termFrequencies, int length, Long trainerId, Long courseId,
+            Integer rating) {
+    }
+
+    public void put(Document document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        List<String> terms = TextAnalyzer.analyze(document.comments());
+        terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        Entry entry = new Entry(frequencies, terms.size(), document.trainerId(), document.courseId(),
+                document.rating());
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.id());
+            entries.put(document.id(), entry);
+            totalLength += entry.length();
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>())
+                    .put(document.id(), tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAfterCommit(Document document) {
+        TransactionUtils.runAfterCommit(() -> put(document));
+    }
+
+    public void removeAfterCommit(Long id) {
+        TransactionUtils.runAfterCommit(() -> remove(id));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the best {@code limit} matches for {@code query}, highest score
+     * first. Any of the filters may be null to leave that dimension open.
+     */
+    public List<Hit> search(String query, Long trainerId, Long courseId, Integer rating, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = entries.size();
+            double averageLength = documentCount > 0 ? (double) totalLength / documentCount : 0.0;
+
+            for (String term : terms) {
+                Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+                    Entry entry = entries.get(match.getKey());
+                    if (!matchesFilters(entry, trainerId, courseId, rating)) {
+                        continue;
+                    }
+                    int tf = match.getValue();
+                    double norm = averageLength > 0 ? entry.length() / averageLength : 1.0;
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * norm));
+                    scores.merge(match.getKey(), score, Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Keep only the best `limit` in a min-heap instead of sorting every match
+        Comparator<Hit> byScore = Comparator.comparingDouble(Hit::score).thenComparing(Hit::id);
+        PriorityQueue<Hit> top = new PriorityQueue<>(byScore);
+        scores.forEach((id, score) -> {
+            top.offer(new Hit(id, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(byScore.reversed());
+        return hits;
+    }
+
+    private boolean matchesFilters(Entry entry, Long trainerId, Long courseId, Integer rating) {
+        return (trainerId == null || trainerId.equals(entry.trainerId()))
+                && (courseId == null || courseId.equals(entry.courseId()))
+                && (rating == null || rating.equals(entry.rating()));
+    }
+
+    private void removeLocked(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length();
+        previous.termFrequencies().keySet().forEach(term -> {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(id);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        });
+    }
+}
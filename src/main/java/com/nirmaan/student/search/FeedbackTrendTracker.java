@@ -0,0 +1,129 @@
+package com.nirmaan.student.search;
+
+import com.nirmaan.student.dto.KeywordTrendDto;
+import com.nirmaan.student.util.SpaceSaving;
+import com.nirmaan.student.util.TextAnalyzer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming top terms in feedback comments over the last seven days, overall
+ * and per trainer and course. Each scope keeps one Space-Saving summary per
+ * day, so memory is bounded by scopes x 7 x capacity regardless of volume, and
+ * a day drops out of the window simply by having its slot reused.
+ *
+ * Counts are estimates: edits and deletes are not subtracted, and a term can
+ * be overcounted by at most the reported error.
+ */
+@Component
+public class FeedbackTrendTracker {
+
+    public static final int WINDOW_DAYS = 7;
+
+    private static final String ALL = "all";
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public FeedbackTrendTracker(@Value("${app.feedback.trends.capacity:100}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void record(Long trainerId, Long courseId, LocalDate day, String comments) {
+        LocalDate today = LocalDate.now();
+        if (day.isAfter(today) || !day.isAfter(today.minusDays(WINDOW_DAYS))) {
+            return;
+        }
+        // A term counts once per feedback so one repetitive comment cannot dominate
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(comments));
+        if (terms.isEmpty()) {
+            return;
+        }
+
+        window(ALL).record(day, terms);
+        if (trainerId != null) {
+            window("trainer:" + trainerId).record(day, terms);
+        }
+        if (courseId != null) {
+            window("course:" + courseId).record(day, terms);
+        }
+    }
+
+    /**
+     * Top terms for the scope: a trainer or a course, or neither for all
+     * feedback. Scopes are tracked separately, so both at once is rejected.
+     */
+    public List<KeywordTrendDto> top(Long trainerId, Long courseId, int limit) {
+        if (trainerId != null && courseId != null) {
+            throw new IllegalArgumentException("Trends are tracked per trainer or per course, not both");
+        }
+        String scope = trainerId != null ? "trainer:" + trainerId : courseId != null ? "course:" + courseId : ALL;
+        Window window = windows.get(scope);
+        return window != null ? window.top(LocalDate.now(), limit) : List.of();
+    }
+
+    public void clear() {
+        windows.clear();
+    }
+
+    private Window window(String scope) {
+        return windows.computeIfAbsent(scope, s -> new Window(capacity));
+    }
+
+    private static final class Window {
+
+        private final List<SpaceSaving<String>> days = new ArrayList<>(WINDOW_DAYS);
+        private final long[] epochDays = new long[WINDOW_DAYS];
+
+        private Window(int capacity) {
+            for (int i = 0; i < WINDOW_DAYS; i++) {
+                days.add(new SpaceSaving<>(capacity));
+                epochDays[i] = Long.MIN_VALUE;
+            }
+        }
+
+        private synchronized void record(LocalDate day, Set<String> terms) {
+            long epochDay = day.toEpochDay();
+            int slot = Math.floorMod(epochDay, WINDOW_DAYS);
+            if (epochDays[slot] != epochDay) {
+                if (epochDays[slot] > epochDay) {
+                    return; // slot already holds a newer day
+                }
+                days.get(slot).clear();
+                epochDays[slot] = epochDay;
+            }
+            terms.forEach(days.get(slot)::offer);
+        }
+
+        private synchronized List<KeywordTrendDto> top(LocalDate today, int limit) {
+            long oldest = today.toEpochDay() - WINDOW_DAYS;
+            Map<String, long[]> merged = new HashMap<>();
+            for (int i = 0; i < WINDOW_DAYS; i++) {
+                if (epochDays[i] <= oldest) {
+                    continue;
+                }
+                for (SpaceSaving.Estimate<String> estimate : days.get(i).estimates()) {
+                    long[] totals = merged.computeIfAbsent(estimate.item(), t -> new long[2]);
+                    totals[0] += estimate.count();
+                    totals[1] += estimate.error();
+                }
+            }
+
+            List<KeywordTrendDto> trends = new ArrayList<>(merged.size());
+            merged.forEach((term, totals) -> trends.add(new KeywordTrendDto(term, totals[0], totals[1])));
+            trends.sort(Comparator.comparingLong(KeywordTrendDto::getEstimatedCount).reversed()
+                    .thenComparing(KeywordTrendDto::getTerm));
+            return trends.size() > limit ? new ArrayList<>(trends.subList(0, limit)) : trends;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.nirmaan.student.security;
+
+import com.nirmaan.student.enums.Role;
+import com.nirmaan.student.exception.ResourceNotFoundException;
+
+/**
+ * Who is calling, as far as controllers need to know: the user id, role and
+ * student or trainer profile id. Normally read straight from the access token
+ * claims; declare it as a controller parameter to have it injected.
+ */
+public record CallerContext(Long userId, Role role, Long studentId, Long trainerId) {
+
+    public Long requireStudentId() {
+        if (studentId == null) {
+            throw new ResourceNotFoundException("Student not found for user id: " + userId);
+        }
+        return studentId;
+    }
+
+    public Long requireTrainerId() {
+        if (trainerId == null) {
+            throw new ResourceNotFoundException("Trainer not found for user id: " + userId);
+        }
+        return trainerId;
+    }
+}
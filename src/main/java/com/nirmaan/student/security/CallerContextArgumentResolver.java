@@ -0,0 +1,51 @@
+package com.nirmaan.student.security;
+
+import com.nirmaan.student.exception.UnauthorizedException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Injects the {@link CallerContext} the JWT filter read from the token. Tokens
+ * issued before the profile claims existed fall back to a database lookup.
+ */
+public class CallerContextArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String REQUEST_ATTRIBUTE = CallerContext.class.getName();
+
+    private final CallerProfileLookup callerProfileLookup;
+
+    public CallerContextArgumentResolver(CallerProfileLookup callerProfileLookup) {
+        this.callerProfileLookup = callerProfileLookup;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CallerContext.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        Object caller = request != null ? request.getAttribute(REQUEST_ATTRIBUTE) : null;
+        if (caller instanceof CallerContext context) {
+            return context;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new UnauthorizedException("Authentication required");
+        }
+        CallerContext context = callerProfileLookup.lookup(principal.getUser());
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, context);
+        }
+        return context;
+    }
+}
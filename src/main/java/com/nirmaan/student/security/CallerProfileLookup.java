@@ -0,0 +1,26 @@
+package com.nirmaan.student.security;
+
+import com.nirmaan.student.entity.User;
+import com.nirmaan.student.repository.StudentRepository;
+import com.nirmaan.student.repository.TrainerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds a {@link CallerContext} from the database. Used when a token is
+ * issued, and for tokens issued before profile ids were embedded.
+ */
+@Component
+@RequiredArgsConstructor
+public class CallerProfileLookup {
+
+    private final StudentRepository studentRepository;
+    private final TrainerRepository trainerRepository;
+
+    public CallerContext lookup(User user) {
+        // Not keyed off the role: profile endpoints never were, so an admin with a profile keeps access
+        Long studentId = studentRepository.findIdByUserId(user.getId()).orElse(null);
+        Long trainerId = trainerRepository.findIdByUserId(user.getId()).orElse(null);
+        return new CallerContext(user.getId(), user.getRole(), studentId, trainerId);
+    }
+}
@@ -1,6 +1,8 @@
 package com.nirmaan.student.security;
 
+import com.nirmaan.student.service.TokenRevocationService;
 import com.nirmaan.student.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +11,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,11 +22,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider tokenProvider;
     private final UserService userService;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
     
     // Manual constructor with @Lazy to break circular dependency
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, @Lazy UserService userService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, @Lazy UserService userService,
+            UserPrincipalCache principalCache, TokenRevocationService tokenRevocationService) {
         this.tokenProvider = tokenProvider;
         this.userService = userService;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
     
     @Override
@@ -34,17 +40,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = getTokenFromRequest(request);
         
-        if (StringUtils.hasText(token) && tokenProvider.validateToken(token)) {
-            String username = tokenProvider.getUsernameFromToken(token);
-            UserDetails userDetails = userService.loadUserByUsername(username);
-            UsernamePasswordAuthenticationToken authentication = 
-                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        Claims claims = StringUtils.hasText(token) ? tokenProvider.parseClaims(token) : null;
+        if (claims != null && !tokenRevocationService.isRevoked(claims.getId())) {
+            String username = claims.getSubject();
+            long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+            UserPrincipal userDetails = principalCache.get(username, issuedAt,
+                    () -> (UserPrincipal) userService.loadUserByUsername(username));
+            // A deactivated user, or one whose tokens were revoked wholesale, is treated as anonymous
+            if (userDetails.isEnabled()
+                    && !tokenRevocationService.isRevokedForUser(userDetails.getUser().getId(), issuedAt)) {
+                authenticate(request, claims, userDetails);
+            }
         }
         
         filterChain.doFilter(request, response);
     }
     
+    private void authenticate(HttpServletRequest request, Claims claims, UserPrincipal userDetails) {
+        UsernamePasswordAuthenticationToken authentication = 
+            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        CallerContext caller = tokenProvider.getCallerContext(claims);
+        if (caller != null) {
+            // The role comes from the principal so a role change applies before the token is reissued
+            request.setAttribute(CallerContextArgumentResolver.REQUEST_ATTRIBUTE, new CallerContext(
+                    caller.userId(), userDetails.getUser().getRole(), caller.studentId(), caller.trainerId()));
+        }
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,55 +1,129 @@
 package com.nirmaan.student.security;
 
+import com.nirmaan.student.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final String CLAIM_USER_ID = "userId";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_STUDENT_ID = "studentId";
+    private static final String CLAIM_TRAINER_ID = "trainerId";
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private int jwtExpirationMs;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Zero turns the cache off
+    @Value("${app.jwt.verified-cache.size:10000}")
+    private int verifiedCacheSize;
+
+    private Key signingKey;
+    // Built once: the parser is immutable and thread-safe
+    private JwtParser parser;
+    // Token -> its verified claims, until the token expires. Only an exact match hits, so a
+    // tampered token is always verified afresh.
+    private final Map<String, Claims> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
-    public String generateToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+    public String generateToken(UserPrincipal userPrincipal, CallerContext caller) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
+                .claim(CLAIM_USER_ID, caller.userId())
+                .claim(CLAIM_ROLE, caller.role().name());
+        if (caller.studentId() != null) {
+            builder.claim(CLAIM_STUDENT_ID, caller.studentId());
+        }
+        if (caller.trainerId() != null) {
+            builder.claim(CLAIM_TRAINER_ID, caller.trainerId());
+        }
+        return builder
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
-    }
+    /**
+     * Verifies {@code token} and returns its claims, or null if it is
+     * malformed, badly signed or expired. A token seen before is served from
+     * memory until it expires, skipping the decoding, JSON parsing and
+     * signature check; revocation is still checked by the caller.
+     */
+    public Claims parseClaims(String token) {
+        long now = System.currentTimeMillis();
+        Claims cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.getExpiration().getTime() > now) {
+                return cached;
+            }
+            verifiedTokens.remove(token, cached);
+            return null;
+        }
 
-    public boolean validateToken(String token) {
+        Claims claims;
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
+            claims = parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
+        }
+        if (verifiedCacheSize > 0 && claims.getExpiration() != null) {
+            if (verifiedTokens.size() >= verifiedCacheSize) {
+                makeRoom(now);
+            }
+            verifiedTokens.put(token, claims);
         }
+        return claims;
+    }
+
+    /**
+     * The caller context carried by verified {@code claims}, or null for a
+     * token issued before the profile claims were added.
+     */
+    public CallerContext getCallerContext(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new CallerContext(userId, Role.valueOf(role), claims.get(CLAIM_STUDENT_ID, Long.class),
+                claims.get(CLAIM_TRAINER_ID, Long.class));
     }
-}
 
+    /**
+     * Drops expired tokens, and if that frees too little, an arbitrary tenth
+     * of the rest. Freeing a tenth at a time keeps the full scan rare, and a
+     * token dropped while still in use is simply verified again.
+     */
+    private void makeRoom(long now) {
+        verifiedTokens.values().removeIf(claims -> claims.getExpiration().getTime() <= now);
+        int excess = verifiedTokens.size() - verifiedCacheSize * 9 / 10;
+        Iterator<String> tokens = verifiedTokens.keySet().iterator();
+        while (excess-- > 0 && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.nirmaan.student.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+/**
+ * Delegates to another encoder but runs encode and matches on the
+ * {@link PasswordHashingExecutor}, so every BCrypt call in the app (login,
+ * registration, the dummy check for unknown users) shares one bounded pool.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.run(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Encodes many passwords in parallel across the hashing pool, in order.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        return executor.runAll(rawPasswords, delegate::encode);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,188 @@
+package com.nirmaan.student.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nirmaan.student.dto.ApiResponse;
+import com.nirmaan.student.util.TokenBucket;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sheds retry storms on the hot write endpoints before they reach a service
+ * or the connection pool. Runs after the JWT filter, so authenticated groups
+ * get a bucket per user as well as the shared per-IP bucket. Buckets live in
+ * a concurrent map, so a lookup takes no lock, and taking a token is a single
+ * CAS. A bucket that has refilled completely is indistinguishable from a new
+ * one, so a periodic sweep drops those to keep the map bounded; if the map
+ * is still at its cap, live buckets are evicted to make room.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final int MAX_TRACKED = 20_000;
+    private static final long MIN_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private record Limit(int burst, int perMinute) {
+    }
+
+    private record Group(String name, List<String> patterns, Limit perUser, Limit perIp) {
+    }
+
+    private final List<Group> groups;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+            @Value("${app.rate-limit.login.ip-burst:20}") int loginIpBurst,
+            @Value("${app.rate-limit.login.ip-per-minute:60}") int loginIpPerMinute,
+            @Value("${app.rate-limit.attendance-mark.user-burst:5}") int markUserBurst,
+            @Value("${app.rate-limit.attendance-mark.user-per-minute:10}") int markUserPerMinute,
+            @Value("${app.rate-limit.attendance-mark.ip-burst:300}") int markIpBurst,
+            @Value("${app.rate-limit.attendance-mark.ip-per-minute:600}") int markIpPerMinute,
+            @Value("${app.rate-limit.quiz-attempt.user-burst:3}") int attemptUserBurst,
+            @Value("${app.rate-limit.quiz-attempt.user-per-minute:6}") int attemptUserPerMinute,
+            @Value("${app.rate-limit.quiz-attempt.ip-burst:300}") int attemptIpBurst,
+            @Value("${app.rate-limit.quiz-attempt.ip-per-minute:600}") int attemptIpPerMinute) {
+        this.objectMapper = objectMapper;
+        this.groups = List.of(
+                new Group("login", List.of("/api/auth/login"), null, new Limit(loginIpBurst, loginIpPerMinute)),
+                new Group("attendance-mark", List.of("/api/attendance/mark", "/api/student/attendance/mark"),
+                        new Limit(markUserBurst, markUserPerMinute), new Limit(markIpBurst, markIpPerMinute)),
+                new Group("quiz-attempt", List.of("/api/quiz/*/attempt", "/api/student/quiz/*/attempt"),
+                        new Limit(attemptUserBurst, attemptUserPerMinute),
+                        new Limit(attemptIpBurst, attemptIpPerMinute)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        Group group = match(request.getRequestURI());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Per-user first so one client's retry storm cannot drain the IP bucket its classmates share
+        Long userId = currentUserId();
+        Limit headerLimit = null;
+        TokenBucket headerBucket = null;
+        long waitNanos = 0;
+        if (userId != null && group.perUser() != null) {
+            headerLimit = group.perUser();
+            headerBucket = bucket(group.name() + ":user:" + userId, headerLimit);
+            waitNanos = headerBucket.tryAcquire();
+        }
+        if (waitNanos == 0) {
+            TokenBucket ipBucket = bucket(group.name() + ":ip:" + request.getRemoteAddr(), group.perIp());
+            waitNanos = ipBucket.tryAcquire();
+            if (headerBucket == null || waitNanos > 0) {
+                headerLimit = group.perIp();
+                headerBucket = ipBucket;
+            }
+        }
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(headerLimit.burst()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(headerBucket.available()));
+        if (waitNanos > 0) {
+            reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Group match(String path) {
+        for (Group group : groups) {
+            for (String pattern : group.patterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private TokenBucket bucket(String key, Limit limit) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_TRACKED) {
+            long last = lastSweepNanos.get();
+            long now = System.nanoTime();
+            if (now - last >= MIN_SWEEP_INTERVAL_NANOS && lastSweepNanos.compareAndSet(last, now)) {
+                sweep();
+            }
+            if (buckets.size() >= MAX_TRACKED) {
+                evictForNewKey();
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> newBucket(limit));
+    }
+
+    /**
+     * The map is still at its cap after a sweep: drop arbitrary buckets until
+     * there is room, so the new key is stored and limited like any other. A
+     * dropped client starts again from a full bucket, as after LRU eviction.
+     */
+    private void evictForNewKey() {
+        Iterator<String> keys = buckets.keySet().iterator();
+        while (buckets.size() >= MAX_TRACKED && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static TokenBucket newBucket(Limit limit) {
+        return new TokenBucket(limit.burst(), limit.perMinute(), 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Drops buckets that have refilled completely. A request holding a bucket
+     * while it is dropped can spend one token that the replacement bucket
+     * does not see, which is harmless.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        buckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getUser().getId() : null;
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiResponse<Void>(false, "Too many requests, please try again later"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.nirmaan.student.security;
+
+import com.nirmaan.student.event.DomainWriteEvent;
+import com.nirmaan.student.util.ExpiringLruCache;
+import com.nirmaan.student.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Authenticated principals keyed by username and token issue time, so a
+ * request carrying an already-seen token needs no users-table lookup. Any
+ * write to a user (deactivation, role or password change included) evicts
+ * that user's entries, both immediately and again after the write commits.
+ * A miss is loaded outside the cache lock, so one slow lookup does not stall
+ * other requests; a load that overlaps an eviction is returned but not kept.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final ExpiringLruCache<String, UserPrincipal> principals;
+    // Cache keys per user id, so an eviction removes exactly that user's entries
+    private final Map<Long, Set<String>> keysByUser = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load that raced one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserPrincipalCache(@Value("${app.security.principal-cache.size:10000}") int maxSize,
+            @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.principals = new ExpiringLruCache<>(maxSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public UserPrincipal get(String username, long issuedAt, Supplier<UserPrincipal> loader) {
+        String key = username + '\u0000' + issuedAt;
+        UserPrincipal cached = principals.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        UserPrincipal loaded = loader.get();
+        if (generation.get() != startGeneration) {
+            return loaded;
+        }
+        UserPrincipal existing = principals.putIfAbsent(key, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        index(loaded.getUser().getId(), key);
+        // An eviction that began after the check above may have missed the new key
+        if (generation.get() != startGeneration) {
+            principals.remove(key);
+        }
+        return loaded;
+    }
+
+    public void evictUser(Long userId) {
+        generation.incrementAndGet();
+        Set<String> keys = keysByUser.remove(userId);
+        if (keys != null) {
+            keys.forEach(principals::remove);
+        }
+    }
+
+    @EventListener
+    public void onDomainWrite(DomainWriteEvent event) {
+        if (event.domain() == DomainWriteEvent.Domain.USER && event.type() != DomainWriteEvent.WriteType.CREATED) {
+            evictUser(event.entityId());
+            TransactionUtils.runAfterCommit(() -> evictUser(event.entityId()));
+        }
+    }
+
+    // Keys the LRU has since dropped are pruned here, so each user's set stays as small as their live entries
+    private void index(Long userId, String key) {
+        keysByUser.compute(userId, (id, keys) -> {
+            Set<String> live = keys != null ? keys : new HashSet<>();
+            live.removeIf(k -> principals.get(k) == null);
+            live.add(key);
+            return live;
+        });
+    }
+}
@@ -2,10 +2,14 @@ package com.nirmaan.student.service;
 
 import com.nirmaan.student.dto.LoginRequest;
 import com.nirmaan.student.dto.LoginResponse;
+import com.nirmaan.student.dto.RefreshTokenRequest;
 import com.nirmaan.student.entity.User;
 import com.nirmaan.student.exception.UnauthorizedException;
-import com.nirmaan.student.repository.UserRepository;
+import com.nirmaan.student.security.CallerContext;
+import com.nirmaan.student.security.CallerProfileLookup;
 import com.nirmaan.student.security.JwtTokenProvider;
+import com.nirmaan.student.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,23 +21,53 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AuthService {
 
-	private final UserRepository userRepository;
 	private final JwtTokenProvider tokenProvider;
 	private final AuthenticationManager authenticationManager;
+	private final RefreshTokenService refreshTokenService;
+	private final CallerProfileLookup callerProfileLookup;
+	private final TokenRevocationService tokenRevocationService;
 
 	public LoginResponse login(LoginRequest loginRequest) {
 		try {
 			Authentication authentication = authenticationManager.authenticate(
 					new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
-			String token = tokenProvider.generateToken(authentication);
-			User user = userRepository.findByUsername(loginRequest.getUsername())
-					.orElseThrow(() -> new UnauthorizedException("User not found"));
+			UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+			User user = principal.getUser();
 
-			return new LoginResponse(token, user.getUsername(), user.getEmail(), user.getRole(), user.getFirstName(),
-					user.getLastName());
+			return toLoginResponse(generateAccessToken(principal), refreshTokenService.issue(user), user);
 		} catch (AuthenticationException e) {
 			throw new UnauthorizedException("Invalid username or password");
 		}
 	}
+
+	public LoginResponse refresh(RefreshTokenRequest request) {
+		RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+		String token = generateAccessToken(new UserPrincipal(rotation.user()));
+		return toLoginResponse(token, rotation.refreshToken(), rotation.user());
+	}
+
+	/**
+	 * Ends the refresh-token session and, when the caller presents its access
+	 * token, revokes that too so it stops working before it expires.
+	 */
+	public void logout(RefreshTokenRequest request, String accessToken) {
+		refreshTokenService.revokeFamily(request.getRefreshToken());
+		Claims claims = accessToken != null ? tokenProvider.parseClaims(accessToken) : null;
+		if (claims != null) {
+			CallerContext caller = tokenProvider.getCallerContext(claims);
+			tokenRevocationService.revoke(claims.getId(), caller != null ? caller.userId() : null,
+					claims.getExpiration());
+		}
+	}
+
+	// Profile ids are resolved once here so requests can read them from the token
+	private String generateAccessToken(UserPrincipal principal) {
+		return tokenProvider.generateToken(principal, callerProfileLookup.lookup(principal.getUser()));
+	}
+
+	private LoginResponse toLoginResponse(String token, String refreshToken, User user) {
+		return new LoginResponse(token, refreshToken, user.getUsername(), user.getEmail(), user.getRole(),
+				user.getFirstName(), user.getLastName());
+	}
 }
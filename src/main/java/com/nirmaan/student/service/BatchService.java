@@ -1,16 +1,19 @@
 package com.nirmaan.student.service;
 
+import com.nirmaan.student.dto.BatchDto;
 import com.nirmaan.student.entity.Batch;
-import com.nirmaan.student.entity.Trainer;
-import com.nirmaan.student.entity.Course;
+import com.nirmaan.student.event.DomainWriteEvent;
 import com.nirmaan.student.exception.ResourceNotFoundException;
 import com.nirmaan.student.repository.BatchRepository;
 import com.nirmaan.student.repository.TrainerRepository;
 import com.nirmaan.student.repository.CourseRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
@@ -20,38 +23,74 @@ public class BatchService {
     private final TrainerRepository trainerRepository;
     private final CourseRepository courseRepository;
 
-    public List<Batch> getAllBatches() {
-        return batchRepository.findAll();
+    // Active batches read model, tagged with the generation it was loaded under
+    private final AtomicReference<Snapshot> activeBatches = new AtomicReference<>();
+    // Bumped on every invalidation; a snapshot from an older generation is never served
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Snapshot(long generation, List<BatchDto> batches) {
     }
 
-    public List<Batch> getActiveBatches() {
-        return batchRepository.findByActiveTrue();
+    public List<BatchDto> getAllBatches() {
+        return batchRepository.findDtos();
     }
 
-    public Batch getBatchById(Long id) {
-        return batchRepository.findById(id)
+    /**
+     * Served from memory. The list is dropped whenever a batch, its course,
+     * its trainer or its enrolment may have changed, and reloaded with one
+     * query on the next read.
+     */
+    public List<BatchDto> getActiveBatches() {
+        long currentGeneration = generation.get();
+        Snapshot cached = activeBatches.get();
+        if (cached != null && cached.generation() == currentGeneration) {
+            return cached.batches();
+        }
+        List<BatchDto> loaded = List.copyOf(batchRepository.findActiveDtos());
+        // Replaces only what this reader saw, so a slow load never overwrites a newer one
+        activeBatches.compareAndSet(cached, new Snapshot(currentGeneration, loaded));
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainWrite(DomainWriteEvent event) {
+        switch (event.domain()) {
+            case BATCH, COURSE, TRAINER, USER, STUDENT -> {
+                generation.incrementAndGet();
+                activeBatches.set(null);
+            }
+            default -> {
+            }
+        }
+    }
+
+    public BatchDto getBatchById(Long id) {
+        return batchRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + id));
     }
 
-    public List<Batch> getBatchesByTrainer(Long trainerId) {
-        Trainer trainer = trainerRepository.findById(trainerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Trainer not found"));
-        return batchRepository.findByTrainer(trainer);
+    public List<BatchDto> getBatchesByTrainer(Long trainerId) {
+        if (!trainerRepository.existsById(trainerId)) {
+            throw new ResourceNotFoundException("Trainer not found");
+        }
+        return batchRepository.findDtosByTrainerId(trainerId);
     }
 
-    public List<Batch> getBatchesByCourse(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
-        return batchRepository.findByCourse(course);
+    public List<BatchDto> getBatchesByCourse(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        return batchRepository.findDtosByCourseId(courseId);
     }
 
-    public Batch createBatch(Batch batch) {
-        return batchRepository.save(batch);
+    public BatchDto createBatch(Batch batch) {
+        Batch saved = batchRepository.save(batch);
+        return getBatchById(saved.getId());
     }
 
-    public Batch updateBatch(Long id, Batch batchDetails) {
-        Batch batch = getBatchById(id);
-        
+    public BatchDto updateBatch(Long id, Batch batchDetails) {
+        Batch batch = findBatch(id);
+
         batch.setBatchName(batchDetails.getBatchName());
         batch.setCourse(batchDetails.getCourse());
         batch.setTrainer(batchDetails.getTrainer());
@@ -60,13 +99,19 @@ public class BatchService {
         batch.setMaxStudents(batchDetails.getMaxStudents());
         batch.setSchedule(batchDetails.getSchedule());
         batch.setActive(batchDetails.isActive());
-        
-        return batchRepository.save(batch);
+
+        batchRepository.save(batch);
+        return getBatchById(id);
     }
 
     public void deleteBatch(Long id) {
-        Batch batch = getBatchById(id);
+        Batch batch = findBatch(id);
         batch.setActive(false);
         batchRepository.save(batch);
     }
-}
\ No newline at end of file
+
+    private Batch findBatch(Long id) {
+        return batchRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Batch not found with id: " + id));
+    }
+}
@@ -1,73 +1,286 @@
 package com.nirmaan.student.service;
 
+import com.nirmaan.student.dto.BatchActivity;
+import com.nirmaan.student.dto.CatalogueCounts;
+import com.nirmaan.student.dto.TrainerActivity;
+import com.nirmaan.student.dto.UserCounts;
+import com.nirmaan.student.event.DomainWriteEvent;
+import com.nirmaan.student.exception.ResourceNotFoundException;
 import com.nirmaan.student.repository.*;
-import com.nirmaan.student.enums.Role;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
 
     private final UserRepository userRepository;
-    private final StudentRepository studentRepository;
     private final TrainerRepository trainerRepository;
     private final CourseRepository courseRepository;
     private final BatchRepository batchRepository;
     private final QuizRepository quizRepository;
     private final AttendanceRepository attendanceRepository;
-    private final FeedbackRepository feedbackRepository;
+    private final FeedbackCounterService feedbackCounterService;
 
+    @Value("${app.dashboard.cache-ttl-ms:10000}")
+    private long cacheTtlMs;
+
+    @Value("${app.dashboard.metric-timeout-ms:500}")
+    private long metricTimeoutMs;
+
+    // Metric groups are independent queries, so they run side by side on cheap virtual threads
+    private final ExecutorService metricExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Map<String, Object>> lastGoodMetrics = new ConcurrentHashMap<>();
+
+    // Admin dashboard snapshot; null until the first load
+    private volatile Snapshot adminSnapshot;
+    // Held by whoever is reloading the admin snapshot
+    private final ReentrantLock adminRefreshLock = new ReentrantLock();
+    private final Map<Long, Snapshot> trainerSnapshots = new ConcurrentHashMap<>();
+    // Bumped on every domain write; a snapshot loaded under an older value is stale
+    private final AtomicLong generation = new AtomicLong();
+
+    private record Snapshot(Map<String, Object> data, LocalDate day, long loadedAtNanos, long generation) {
+    }
+
+    /**
+     * Served from an in-memory snapshot. The snapshot is refreshed in the
+     * background, goes stale on any domain write and is rebuilt at most every
+     * {@code app.dashboard.cache-ttl-ms} otherwise. Only one reader rebuilds a
+     * stale snapshot; the others get the previous one meanwhile.
+     */
     public Map<String, Object> getAdminDashboardData() {
-        Map<String, Object> data = new HashMap<>();
-        
-        // User statistics
-        data.put("totalUsers", userRepository.count());
-        data.put("totalStudents", userRepository.findByRole(Role.STUDENT).size());
-        data.put("totalTrainers", userRepository.findByRole(Role.TRAINER).size());
-        data.put("activeUsers", userRepository.findByActiveTrue().size());
-        
-        // Course and batch statistics
-        data.put("totalCourses", courseRepository.count());
-        data.put("activeCourses", courseRepository.findByActiveTrue().size());
-        data.put("totalBatches", batchRepository.count());
-        data.put("activeBatches", batchRepository.findByActiveTrue().size());
-        
-        // Quiz statistics
-        data.put("totalQuizzes", quizRepository.count());
-        data.put("activeQuizzes", quizRepository.findByActiveTrue().size());
-        
-        // Today's attendance
-        data.put("todayAttendance", attendanceRepository.findByAttendanceDate(LocalDate.now()).size());
-        
-        // Total feedback
-        data.put("totalFeedback", feedbackRepository.count());
-        
-        return data;
+        Snapshot snapshot = adminSnapshot;
+        if (isFresh(snapshot)) {
+            return snapshot.data();
+        }
+        if (snapshot != null && snapshot.day().equals(LocalDate.now())) {
+            if (!adminRefreshLock.tryLock()) {
+                return snapshot.data();
+            }
+        } else {
+            // Nothing from today to fall back on, so wait for the reload
+            adminRefreshLock.lock();
+        }
+        try {
+            Snapshot current = adminSnapshot;
+            // Another reader may have reloaded it while this one waited
+            if (isFresh(current)) {
+                return current.data();
+            }
+            return reloadAdminSnapshot().data();
+        } finally {
+            adminRefreshLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.refresh-interval-ms:5000}")
+    public void refreshInBackground() {
+        // A reader already reloading covers this round
+        if (adminRefreshLock.tryLock()) {
+            try {
+                reloadAdminSnapshot();
+            } finally {
+                adminRefreshLock.unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainWrite(DomainWriteEvent event) {
+        generation.incrementAndGet();
+        // Mapping a write back to the trainers it affects would cost a query; rebuilding is cheap
+        trainerSnapshots.clear();
     }
 
     public Map<String, Object> getTrainerDashboardData() {
         Map<String, Object> data = new HashMap<>();
         
         // Basic statistics
-        data.put("totalBatches", batchRepository.findByActiveTrue().size());
-        data.put("totalQuizzes", quizRepository.findByActiveTrue().size());
-        data.put("todayAttendance", attendanceRepository.findByAttendanceDate(LocalDate.now()).size());
+        data.put("totalBatches", batchRepository.countByActiveTrue());
+        data.put("totalQuizzes", quizRepository.countByActiveTrue());
+        data.put("todayAttendance", attendanceRepository.countByAttendanceDate(LocalDate.now()));
         
         return data;
     }
 
+    /**
+     * Dashboard scoped to one trainer's batches, quizzes and feedback, built
+     * from two aggregate queries and cached per trainer like the admin one.
+     */
+    public Map<String, Object> getTrainerDashboardData(Long trainerId) {
+        Snapshot snapshot = trainerSnapshots.get(trainerId);
+        if (isFresh(snapshot)) {
+            return snapshot.data();
+        }
+
+        long startGeneration = generation.get();
+        LocalDate today = LocalDate.now();
+        Map<String, Object> data = Collections.unmodifiableMap(loadTrainerData(trainerId, today));
+        trainerSnapshots.put(trainerId, new Snapshot(data, today, System.nanoTime(), startGeneration));
+        return data;
+    }
+
     public Map<String, Object> getStudentDashboardData() {
         Map<String, Object> data = new HashMap<>();
         
         // Basic statistics
-        data.put("availableQuizzes", quizRepository.findByActiveTrue().size());
-        data.put("totalCourses", courseRepository.findByActiveTrue().size());
+        data.put("availableQuizzes", quizRepository.countByActiveTrue());
+        data.put("totalCourses", courseRepository.countByActiveTrue());
         
         return data;
     }
-}
\ No newline at end of file
+
+    // Caller holds adminRefreshLock. A load that raced a write is still kept, just already stale.
+    private Snapshot reloadAdminSnapshot() {
+        long startGeneration = generation.get();
+        LocalDate today = LocalDate.now();
+        Map<String, Object> data = Collections.unmodifiableMap(loadAdminData(today));
+        Snapshot snapshot = new Snapshot(data, today, System.nanoTime(), startGeneration);
+        adminSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Runs each metric group on its own virtual thread and waits at most
+     * {@code app.dashboard.metric-timeout-ms} for all of them. A group that
+     * fails or misses the deadline falls back to its last good values
+     * ("stale"), or is left out ("unavailable") if it never succeeded.
+     */
+    private Map<String, Object> loadAdminData(LocalDate today) {
+        Map<String, Supplier<Map<String, Object>>> groups = new LinkedHashMap<>();
+        groups.put("users", this::loadUserMetrics);
+        groups.put("catalogue", this::loadCatalogueMetrics);
+        groups.put("attendance", () -> Map.of("todayAttendance", attendanceRepository.countByAttendanceDate(today)));
+        groups.put("feedback", () -> Map.of("totalFeedback", feedbackCounterService.getSummary().get("totalFeedback")));
+
+        Map<String, CompletableFuture<Map<String, Object>>> futures = new LinkedHashMap<>();
+        groups.forEach((name, loader) -> futures.put(name, CompletableFuture.supplyAsync(loader, metricExecutor)));
+
+        Map<String, Object> data = new HashMap<>();
+        Map<String, String> metricStatus = new LinkedHashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(metricTimeoutMs);
+        futures.forEach((name, future) -> {
+            try {
+                Map<String, Object> values = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                lastGoodMetrics.put(name, values);
+                data.putAll(values);
+                metricStatus.put(name, "ok");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fallBack(name, future, data, metricStatus);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Dashboard metric group '{}' degraded: {}", name, e.toString());
+                fallBack(name, future, data, metricStatus);
+            }
+        });
+        data.put("metricStatus", metricStatus);
+        return data;
+    }
+
+    private Map<String, Object> loadTrainerData(Long trainerId, LocalDate today) {
+        TrainerActivity activity = trainerRepository.findActivity(trainerId, LocalDateTime.now())
+                .orElseThrow(() -> new ResourceNotFoundException("Trainer not found with id: " + trainerId));
+        List<BatchActivity> batchActivity = batchRepository.findActivityByTrainer(trainerId, today);
+
+        long todayAttendance = 0;
+        List<Map<String, Object>> batches = new ArrayList<>();
+        for (BatchActivity batch : batchActivity) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("batchId", batch.getBatchId());
+            row.put("batchName", batch.getBatchName());
+            row.put("courseName", batch.getCourseName());
+            row.put("enrolledStudents", batch.getEnrolledStudents());
+            row.put("checkedInToday", batch.getCheckedInToday());
+            row.put("checkInRate", batch.getEnrolledStudents() > 0
+                    ? Math.round(batch.getCheckedInToday() * 10000.0 / batch.getEnrolledStudents()) / 100.0
+                    : 0.0);
+            batches.add(row);
+            todayAttendance += batch.getCheckedInToday();
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("trainerId", trainerId);
+        data.put("totalBatches", batches.size());
+        data.put("totalQuizzes", activity.getActiveQuizzes());
+        data.put("todayAttendance", todayAttendance);
+        data.put("batches", batches);
+        data.put("pendingQuizzes", activity.getPendingQuizzes());
+        data.put("feedbackCount", activity.getFeedbackCount());
+        data.put("averageFeedbackRating", activity.getAverageRating() != null
+                ? Math.round(activity.getAverageRating() * 100.0) / 100.0
+                : 0.0);
+        return data;
+    }
+
+    private void fallBack(String name, Future<?> future, Map<String, Object> data, Map<String, String> metricStatus) {
+        future.cancel(true);
+        Map<String, Object> previous = lastGoodMetrics.get(name);
+        if (previous != null) {
+            data.putAll(previous);
+            metricStatus.put(name, "stale");
+        } else {
+            metricStatus.put(name, "unavailable");
+        }
+    }
+
+    private Map<String, Object> loadUserMetrics() {
+        UserCounts counts = userRepository.countUserTotals();
+        Map<String, Object> data = new HashMap<>();
+        data.put("totalUsers", counts.getTotalUsers());
+        data.put("totalStudents", counts.getTotalStudents());
+        data.put("totalTrainers", counts.getTotalTrainers());
+        data.put("activeUsers", counts.getActiveUsers());
+        return data;
+    }
+
+    private Map<String, Object> loadCatalogueMetrics() {
+        CatalogueCounts counts = courseRepository.countCatalogueTotals();
+        Map<String, Object> data = new HashMap<>();
+        data.put("totalCourses", counts.getTotalCourses());
+        data.put("activeCourses", counts.getActiveCourses());
+        data.put("totalBatches", counts.getTotalBatches());
+        data.put("activeBatches", counts.getActiveBatches());
+        data.put("totalQuizzes", counts.getTotalQuizzes());
+        data.put("activeQuizzes", counts.getActiveQuizzes());
+        return data;
+    }
+
+    @PreDestroy
+    public void shutdownMetricExecutor() {
+        metricExecutor.shutdownNow();
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        return snapshot != null
+                && snapshot.generation() == generation.get()
+                && snapshot.day().equals(LocalDate.now())
+                && System.nanoTime() - snapshot.loadedAtNanos() < TimeUnit.MILLISECONDS.toNanos(cacheTtlMs);
+    }
+}
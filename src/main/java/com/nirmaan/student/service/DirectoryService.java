@@ -0,0 +1,225 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.dto.DirectoryBatchRow;
+import com.nirmaan.student.dto.DirectoryPersonRow;
+import com.nirmaan.student.entity.Course;
+import com.nirmaan.student.event.DomainWriteEvent;
+import com.nirmaan.student.repository.BatchRepository;
+import com.nirmaan.student.repository.CourseRepository;
+import com.nirmaan.student.repository.UserRepository;
+import com.nirmaan.student.search.DirectoryIndex;
+import com.nirmaan.student.search.DirectoryIndex.Document;
+import com.nirmaan.student.search.DirectoryIndex.Hit;
+import com.nirmaan.student.search.DirectoryIndex.Kind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link DirectoryIndex} in step with the database. Committed
+ * writes only mark rows dirty; a background pass reloads the dirty rows with
+ * a few set-based projection queries, so a bulk import costs one query per
+ * kind rather than one per row, and searches see changes within about a
+ * second. A bulk write without ids marks the whole directory for a rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectoryService {
+
+    public static final int MAX_RESULTS = 50;
+
+    private static final int INDEX_BATCH_SIZE = 1000;
+
+    private final DirectoryIndex directoryIndex;
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final BatchRepository batchRepository;
+
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyStudents = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyTrainers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyCourses = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyBatches = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuildRequested;
+
+    public List<Hit> search(String query, Set<Kind> kinds, int limit) {
+        Set<Kind> filter = kinds == null || kinds.isEmpty() ? EnumSet.noneOf(Kind.class) : EnumSet.copyOf(kinds);
+        return directoryIndex.search(query, filter, Math.min(Math.max(limit, 1), MAX_RESULTS));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Document> documents = new ArrayList<>();
+        Long afterId = 0L;
+        List<DirectoryPersonRow> rows;
+        do {
+            rows = userRepository.findDirectoryRows(afterId, PageRequest.of(0, INDEX_BATCH_SIZE));
+            for (DirectoryPersonRow row : rows) {
+                documents.add(toDocument(row));
+                afterId = row.getUserId();
+            }
+        } while (rows.size() == INDEX_BATCH_SIZE);
+        courseRepository.findAll().forEach(course -> documents.add(toDocument(course)));
+        batchRepository.findDirectoryRows().forEach(row -> documents.add(toDocument(row)));
+        directoryIndex.replaceAll(documents);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainWrite(DomainWriteEvent event) {
+        Set<Long> dirty = switch (event.domain()) {
+            case USER -> dirtyUsers;
+            case STUDENT -> dirtyStudents;
+            case TRAINER -> dirtyTrainers;
+            case COURSE -> dirtyCourses;
+            case BATCH -> dirtyBatches;
+            default -> null;
+        };
+        if (dirty == null) {
+            return;
+        }
+        if (event.entityId() == null) {
+            rebuildRequested = true;
+        } else {
+            dirty.add(event.entityId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.directory.refresh-interval-ms:1000}")
+    public synchronized void refreshDirty() {
+        try {
+            if (rebuildRequested) {
+                rebuildRequested = false;
+                Stream.of(dirtyUsers, dirtyStudents, dirtyTrainers, dirtyCourses, dirtyBatches)
+                        .forEach(Set::clear);
+                rebuild();
+                return;
+            }
+            refreshPeople(drain(dirtyUsers), drain(dirtyStudents), drain(dirtyTrainers));
+            Set<Long> courseIds = drain(dirtyCourses);
+            refreshCourses(courseIds);
+            refreshBatches(drain(dirtyBatches), courseIds);
+        } catch (RuntimeException e) {
+            // Anything drained is lost, so fall back to a full rebuild on the next pass
+            log.warn("Directory refresh failed, rebuilding on the next pass: {}", e.toString());
+            rebuildRequested = true;
+        }
+    }
+
+    private void refreshPeople(Set<Long> userIds, Set<Long> studentIds, Set<Long> trainerIds) {
+        if (!userIds.isEmpty()) {
+            List<DirectoryPersonRow> rows = userRepository.findDirectoryRowsByUserIds(userIds);
+            Set<Long> missing = new HashSet<>(userIds);
+            rows.forEach(row -> missing.remove(row.getUserId()));
+            missing.forEach(id -> directoryIndex.remove(Kind.USER, id));
+            rows.forEach(this::putPerson);
+        }
+        if (!studentIds.isEmpty()) {
+            List<DirectoryPersonRow> rows = userRepository.findDirectoryRowsByStudentIds(studentIds);
+            Set<Long> missing = new HashSet<>(studentIds);
+            rows.forEach(row -> missing.remove(row.getStudentId()));
+            missing.forEach(id -> directoryIndex.remove(Kind.STUDENT, id));
+            rows.forEach(this::putPerson);
+        }
+        if (!trainerIds.isEmpty()) {
+            List<DirectoryPersonRow> rows = userRepository.findDirectoryRowsByTrainerIds(trainerIds);
+            Set<Long> missing = new HashSet<>(trainerIds);
+            rows.forEach(row -> missing.remove(row.getTrainerId()));
+            missing.forEach(id -> directoryIndex.remove(Kind.TRAINER, id));
+            rows.forEach(this::putPerson);
+        }
+    }
+
+    // A user with a profile is listed once, as that profile
+    private void putPerson(DirectoryPersonRow row) {
+        Document document = toDocument(row);
+        if (document.kind() != Kind.USER) {
+            directoryIndex.remove(Kind.USER, row.getUserId());
+        }
+        directoryIndex.put(document);
+    }
+
+    private void refreshCourses(Set<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(courseIds);
+        for (Course course : courseRepository.findAllById(courseIds)) {
+            missing.remove(course.getId());
+            directoryIndex.put(toDocument(course));
+        }
+        missing.forEach(id -> directoryIndex.remove(Kind.COURSE, id));
+    }
+
+    // Batches show their course name, so a renamed course refreshes its batches too
+    private void refreshBatches(Set<Long> batchIds, Set<Long> courseIds) {
+        if (!batchIds.isEmpty()) {
+            List<DirectoryBatchRow> rows = batchRepository.findDirectoryRowsByIds(batchIds);
+            Set<Long> missing = new HashSet<>(batchIds);
+            rows.forEach(row -> missing.remove(row.getId()));
+            missing.forEach(id -> directoryIndex.remove(Kind.BATCH, id));
+            rows.forEach(row -> directoryIndex.put(toDocument(row)));
+        }
+        if (!courseIds.isEmpty()) {
+            batchRepository.findDirectoryRowsByCourseIds(courseIds)
+                    .forEach(row -> directoryIndex.put(toDocument(row)));
+        }
+    }
+
+    private static Set<Long> drain(Set<Long> dirty) {
+        Set<Long> drained = new HashSet<>(dirty);
+        dirty.removeAll(drained);
+        return drained;
+    }
+
+    private static Document toDocument(DirectoryPersonRow row) {
+        String name = row.getFirstName() + " " + row.getLastName();
+        List<String> fields = new ArrayList<>(List.of(row.getUsername(), emailLocalPart(row.getEmail())));
+        if (row.getStudentId() != null) {
+            fields.add(row.getStudentCode());
+            return new Document(Kind.STUDENT, row.getStudentId(), name, subtitle(row.getStudentCode(), row.getEmail()),
+                    row.isActive(), fields);
+        }
+        if (row.getTrainerId() != null) {
+            fields.add(row.getTrainerCode());
+            return new Document(Kind.TRAINER, row.getTrainerId(), name, subtitle(row.getTrainerCode(), row.getEmail()),
+                    row.isActive(), fields);
+        }
+        return new Document(Kind.USER, row.getUserId(), name, subtitle(row.getRole().name(), row.getEmail()),
+                row.isActive(), fields);
+    }
+
+    private static Document toDocument(Course course) {
+        String type = course.getCourseType() != null ? course.getCourseType().name() : null;
+        return new Document(Kind.COURSE, course.getId(), course.getCourseName(), type, course.isActive(),
+                type != null ? List.of(type) : List.of());
+    }
+
+    private static Document toDocument(DirectoryBatchRow row) {
+        return new Document(Kind.BATCH, row.getId(), row.getBatchName(), row.getCourseName(), row.isActive(),
+                List.of());
+    }
+
+    // Nearly everyone shares a handful of domains, which would make their words match everyone
+    private static String emailLocalPart(String email) {
+        int at = email != null ? email.indexOf('@') : -1;
+        return at >= 0 ? email.substring(0, at) : email;
+    }
+
+    private static String subtitle(String code, String email) {
+        return code != null ? code + ", " + email : email;
+    }
+}
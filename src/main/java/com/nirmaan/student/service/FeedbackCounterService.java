@@ -0,0 +1,127 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.dto.FeedbackTypeRatingCount;
+import com.nirmaan.student.entity.FeedbackCounter;
+import com.nirmaan.student.enums.FeedbackType;
+import com.nirmaan.student.repository.FeedbackCounterRepository;
+import com.nirmaan.student.repository.FeedbackRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedbackCounterService {
+
+    private final FeedbackCounterRepository feedbackCounterRepository;
+    private final FeedbackRepository feedbackRepository;
+
+    /**
+     * Adjusts the counters for one feedback row. Must run in the same transaction
+     * as the feedback write so the two commit or roll back together.
+     */
+    @Transactional
+    public void record(FeedbackType feedbackType, int rating, long delta) {
+        if (feedbackType == null) {
+            return;
+        }
+        if (feedbackCounterRepository.increment(feedbackType, rating, delta) == 0) {
+            // Rows are seeded at startup; this only covers a type added since
+            feedbackCounterRepository.saveAndFlush(new FeedbackCounter(feedbackType));
+            feedbackCounterRepository.increment(feedbackType, rating, delta);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSummary() {
+        Map<FeedbackType, FeedbackCounter> counters = new EnumMap<>(FeedbackType.class);
+        feedbackCounterRepository.findAll().forEach(c -> counters.put(c.getFeedbackType(), c));
+
+        long totalFeedback = 0;
+        long ratingSum = 0;
+        for (FeedbackCounter counter : counters.values()) {
+            totalFeedback += counter.getTotalCount();
+            ratingSum += counter.getRatingSum();
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalFeedback", totalFeedback);
+        summary.put("courseFeedback", countOf(counters, FeedbackType.COURSE_FEEDBACK));
+        summary.put("trainerFeedback", countOf(counters, FeedbackType.TRAINER_FEEDBACK));
+        summary.put("systemFeedback", countOf(counters, FeedbackType.SYSTEM_FEEDBACK));
+        summary.put("averageRating", totalFeedback > 0
+                ? Math.round(ratingSum * 100.0 / totalFeedback) / 100.0
+                : 0.0);
+        return summary;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedCounters() {
+        reconcile();
+    }
+
+    /**
+     * Recomputes every counter from the feedback table and repairs any drift.
+     * Counter rows are locked first, so writers that commit while the aggregate
+     * runs are either already visible to it or blocked until we are done.
+     */
+    @Scheduled(fixedDelayString = "${app.feedback.counter-verify-interval-ms:3600000}",
+            initialDelayString = "${app.feedback.counter-verify-interval-ms:3600000}")
+    @Transactional
+    public void reconcile() {
+        Map<FeedbackType, FeedbackCounter> counters = new EnumMap<>(FeedbackType.class);
+        feedbackCounterRepository.findAllForUpdate().forEach(c -> counters.put(c.getFeedbackType(), c));
+
+        Map<FeedbackType, FeedbackCounter> expected = new EnumMap<>(FeedbackType.class);
+        for (FeedbackType type : FeedbackType.values()) {
+            expected.put(type, new FeedbackCounter(type));
+        }
+        List<FeedbackTypeRatingCount> rows = feedbackRepository.countByTypeAndRating();
+        for (FeedbackTypeRatingCount row : rows) {
+            if (row.getFeedbackType() != null && row.getRating() != null) {
+                add(expected.get(row.getFeedbackType()), row.getRating(), row.getTotal());
+            }
+        }
+
+        for (FeedbackCounter target : expected.values()) {
+            FeedbackCounter current = counters.get(target.getFeedbackType());
+            if (current == null) {
+                feedbackCounterRepository.save(target);
+            } else if (!current.equals(target)) {
+                log.warn("Feedback counter for {} drifted (was {} rows, expected {}); repairing",
+                        target.getFeedbackType(), current.getTotalCount(), target.getTotalCount());
+                feedbackCounterRepository.save(target);
+            }
+        }
+    }
+
+    private void add(FeedbackCounter counter, int rating, long count) {
+        counter.setTotalCount(counter.getTotalCount() + count);
+        counter.setRatingSum(counter.getRatingSum() + rating * count);
+        switch (rating) {
+            case 1 -> counter.setRating1Count(counter.getRating1Count() + count);
+            case 2 -> counter.setRating2Count(counter.getRating2Count() + count);
+            case 3 -> counter.setRating3Count(counter.getRating3Count() + count);
+            case 4 -> counter.setRating4Count(counter.getRating4Count() + count);
+            case 5 -> counter.setRating5Count(counter.getRating5Count() + count);
+            default -> {
+            }
+        }
+    }
+
+    private long countOf(Map<FeedbackType, FeedbackCounter> counters, FeedbackType type) {
+        FeedbackCounter counter = counters.get(type);
+        return counter != null ? counter.getTotalCount() : 0;
+    }
+}
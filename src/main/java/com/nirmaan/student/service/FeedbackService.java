@@ -1,6 +1,12 @@
 package com.nirmaan.student.service;
 
+import com.nirmaan.student.cache.RecentFeedbackCache;
 import com.nirmaan.student.dto.FeedbackDto;
+import com.nirmaan.student.dto.FeedbackFilter;
+import com.nirmaan.student.dto.FeedbackIndexRow;
+import com.nirmaan.student.dto.FeedbackPage;
+import com.nirmaan.student.dto.FeedbackRatingBucket;
+import com.nirmaan.student.dto.KeywordTrendDto;
 import com.nirmaan.student.entity.Feedback;
 import com.nirmaan.student.entity.Student;
 import com.nirmaan.student.entity.Trainer;
@@ -12,12 +18,25 @@ import com.nirmaan.student.repository.FeedbackRepository;
 import com.nirmaan.student.repository.StudentRepository;
 import com.nirmaan.student.repository.TrainerRepository;
 import com.nirmaan.student.repository.CourseRepository;
+import com.nirmaan.student.search.FeedbackTextIndex;
+import com.nirmaan.student.search.FeedbackTrendTracker;
+import com.nirmaan.student.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.HashMap;
 import java.util.stream.Collectors;
 
@@ -25,19 +44,33 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FeedbackService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int INDEX_BATCH_SIZE = 500;
+
     private final FeedbackRepository feedbackRepository;
     private final StudentRepository studentRepository;
     private final TrainerRepository trainerRepository;
     private final CourseRepository courseRepository;
+    private final RecentFeedbackCache recentFeedbackCache;
+    private final FeedbackCounterService feedbackCounterService;
+    private final FeedbackTextIndex feedbackTextIndex;
+    private final FeedbackTrendTracker feedbackTrendTracker;
+    private final FeedbackSubmissionGuard feedbackSubmissionGuard;
 
+    @Transactional
     public FeedbackDto submitFeedback(FeedbackDto feedbackDto, Long studentId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
-
         // Validate rating
         if (feedbackDto.getRating() < 1 || feedbackDto.getRating() > 5) {
             throw new ValidationException("Rating must be between 1 and 5");
         }
+        if (feedbackDto.getFeedbackType() == null) {
+            throw new ValidationException("Feedback type is required");
+        }
+        feedbackSubmissionGuard.admit(studentId, feedbackDto.getFeedbackType(), null, feedbackDto.getRating(),
+                feedbackDto.getComments());
+
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
 
         Feedback feedback = new Feedback();
         feedback.setStudent(student);
@@ -47,22 +80,23 @@ public class FeedbackService {
         feedback.setAnonymous(feedbackDto.isAnonymous());
         feedback.setSubmittedAt(LocalDateTime.now());
 
-        feedback = feedbackRepository.save(feedback);
-        return convertToDto(feedback);
+        return saveSubmitted(feedback);
     }
 
+    @Transactional
     public FeedbackDto submitCourseFeedback(Long studentId, Long courseId, Integer rating, String comments, Boolean anonymous) {
+        // Validate rating
+        if (rating < 1 || rating > 5) {
+            throw new ValidationException("Rating must be between 1 and 5");
+        }
+        feedbackSubmissionGuard.admit(studentId, FeedbackType.COURSE_FEEDBACK, courseId, rating, comments);
+
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
         
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
 
-        // Validate rating
-        if (rating < 1 || rating > 5) {
-            throw new ValidationException("Rating must be between 1 and 5");
-        }
-
         Feedback feedback = new Feedback();
         feedback.setStudent(student);
         feedback.setCourse(course);
@@ -72,22 +106,23 @@ public class FeedbackService {
         feedback.setAnonymous(anonymous);
         feedback.setSubmittedAt(LocalDateTime.now());
 
-        feedback = feedbackRepository.save(feedback);
-        return convertToDto(feedback);
+        return saveSubmitted(feedback);
     }
 
+    @Transactional
     public FeedbackDto submitTrainerFeedback(Long studentId, Long trainerId, Integer rating, String comments, Boolean anonymous) {
+        // Validate rating
+        if (rating < 1 || rating > 5) {
+            throw new ValidationException("Rating must be between 1 and 5");
+        }
+        feedbackSubmissionGuard.admit(studentId, FeedbackType.TRAINER_FEEDBACK, trainerId, rating, comments);
+
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
         
         Trainer trainer = trainerRepository.findById(trainerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Trainer not found"));
 
-        // Validate rating
-        if (rating < 1 || rating > 5) {
-            throw new ValidationException("Rating must be between 1 and 5");
-        }
-
         Feedback feedback = new Feedback();
         feedback.setStudent(student);
         feedback.setTrainer(trainer);
@@ -97,18 +132,19 @@ public class FeedbackService {
         feedback.setAnonymous(anonymous);
         feedback.setSubmittedAt(LocalDateTime.now());
 
-        feedback = feedbackRepository.save(feedback);
-        return convertToDto(feedback);
+        return saveSubmitted(feedback);
     }
 
+    @Transactional
     public FeedbackDto submitSystemFeedback(Long studentId, Integer rating, String comments, Boolean anonymous) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
-
         // Validate rating
         if (rating < 1 || rating > 5) {
             throw new ValidationException("Rating must be between 1 and 5");
         }
+        feedbackSubmissionGuard.admit(studentId, FeedbackType.SYSTEM_FEEDBACK, null, rating, comments);
+
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
 
         Feedback feedback = new Feedback();
         feedback.setStudent(student);
@@ -118,8 +154,7 @@ public class FeedbackService {
         feedback.setAnonymous(anonymous);
         feedback.setSubmittedAt(LocalDateTime.now());
 
-        feedback = feedbackRepository.save(feedback);
-        return convertToDto(feedback);
+        return saveSubmitted(feedback);
     }
 
     public List<FeedbackDto> getAllFeedback() {
@@ -158,6 +193,7 @@ public class FeedbackService {
         return convertToDto(feedback);
     }
 
+    @Transactional
     public FeedbackDto updateFeedback(Long feedbackId, FeedbackDto feedbackDto) {
         Feedback feedback = feedbackRepository.findById(feedbackId)
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback not found"));
@@ -167,79 +203,110 @@ public class FeedbackService {
             throw new ValidationException("Rating must be between 1 and 5");
         }
 
+        if (!feedback.getRating().equals(feedbackDto.getRating())) {
+            feedbackCounterService.record(feedback.getFeedbackType(), feedback.getRating(), -1);
+            feedbackCounterService.record(feedback.getFeedbackType(), feedbackDto.getRating(), 1);
+        }
+
         feedback.setRating(feedbackDto.getRating());
         feedback.setComments(feedbackDto.getComments());
         feedback.setAnonymous(feedbackDto.isAnonymous());
 
         feedback = feedbackRepository.save(feedback);
-        return convertToDto(feedback);
+        FeedbackDto updated = convertToDto(feedback);
+        TransactionUtils.runAfterCommit(() -> recentFeedbackCache.replace(updated));
+        feedbackTextIndex.putAfterCommit(toIndexDocument(feedback));
+        return updated;
     }
 
+    @Transactional
     public void deleteFeedback(Long feedbackId) {
-        if (!feedbackRepository.existsById(feedbackId)) {
-            throw new ResourceNotFoundException("Feedback not found");
-        }
-        feedbackRepository.deleteById(feedbackId);
+        Feedback feedback = feedbackRepository.findById(feedbackId)
+                .orElseThrow(() -> new ResourceNotFoundException("Feedback not found"));
+        feedbackRepository.delete(feedback);
+        feedbackCounterService.record(feedback.getFeedbackType(), feedback.getRating(), -1);
+        TransactionUtils.runAfterCommit(() -> recentFeedbackCache.remove(feedbackId));
+        feedbackTextIndex.removeAfterCommit(feedbackId);
     }
 
     // Analytics Methods
     public Map<String, Object> getFeedbackAnalyticsByTrainer(Long trainerId) {
-        Trainer trainer = trainerRepository.findById(trainerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Trainer not found"));
+        if (!trainerRepository.existsById(trainerId)) {
+            throw new ResourceNotFoundException("Trainer not found");
+        }
 
-        List<Feedback> feedbacks = feedbackRepository.findByTrainer(trainer);
-        return calculateFeedbackAnalytics(feedbacks, "trainer");
+        return calculateFeedbackAnalytics(feedbackRepository.aggregateRatings(trainerId, null, null), "trainer");
     }
 
     public Map<String, Object> getFeedbackAnalyticsByCourse(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
 
-        List<Feedback> feedbacks = feedbackRepository.findByCourse(course);
-        return calculateFeedbackAnalytics(feedbacks, "course");
+        return calculateFeedbackAnalytics(feedbackRepository.aggregateRatings(null, courseId, null), "course");
     }
 
     public Map<String, Object> getOverallFeedbackAnalytics() {
-        List<Feedback> allFeedbacks = feedbackRepository.findAll();
-        return calculateFeedbackAnalytics(allFeedbacks, "overall");
+        return calculateFeedbackAnalytics(feedbackRepository.aggregateRatings(null, null, null), "overall");
     }
 
     public Map<String, Object> getFeedbackAnalyticsByType(FeedbackType feedbackType) {
-        List<Feedback> feedbacks = feedbackRepository.findByFeedbackType(feedbackType);
-        return calculateFeedbackAnalytics(feedbacks, feedbackType.toString().toLowerCase());
+        return calculateFeedbackAnalytics(feedbackRepository.aggregateRatings(null, null, feedbackType),
+                feedbackType.toString().toLowerCase());
     }
 
     // Summary Methods
     public Map<String, Object> getFeedbackSummary() {
-        Map<String, Object> summary = new HashMap<>();
-        
-        long totalFeedback = feedbackRepository.count();
-        long courseFeedback = feedbackRepository.findByFeedbackType(FeedbackType.COURSE_FEEDBACK).size();
-        long trainerFeedback = feedbackRepository.findByFeedbackType(FeedbackType.TRAINER_FEEDBACK).size();
-        long systemFeedback = feedbackRepository.findByFeedbackType(FeedbackType.SYSTEM_FEEDBACK).size();
-        
-        summary.put("totalFeedback", totalFeedback);
-        summary.put("courseFeedback", courseFeedback);
-        summary.put("trainerFeedback", trainerFeedback);
-        summary.put("systemFeedback", systemFeedback);
-        
-        if (totalFeedback > 0) {
-            List<Feedback> allFeedbacks = feedbackRepository.findAll();
-            double averageRating = allFeedbacks.stream()
-                    .mapToInt(Feedback::getRating)
-                    .average().orElse(0.0);
-            summary.put("averageRating", Math.round(averageRating * 100.0) / 100.0);
-        } else {
-            summary.put("averageRating", 0.0);
-        }
-        
-        return summary;
+        return feedbackCounterService.getSummary();
     }
 
     public List<FeedbackDto> getRecentFeedback(int limit) {
-        return feedbackRepository.findAll().stream()
-                .sorted((f1, f2) -> f2.getSubmittedAt().compareTo(f1.getSubmittedAt()))
-                .limit(limit)
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (limit <= recentFeedbackCache.capacity()) {
+            return recentFeedbackCache.recent(limit, this::loadRecentFeedback);
+        }
+        return loadRecentFeedback(limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmRecentFeedback() {
+        recentFeedbackCache.recent(0, this::loadRecentFeedback);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildTextIndex() {
+        Long afterId = 0L;
+        List<FeedbackIndexRow> rows;
+        do {
+            rows = feedbackRepository.findIndexRows(afterId, PageRequest.of(0, INDEX_BATCH_SIZE));
+            for (FeedbackIndexRow row : rows) {
+                feedbackTextIndex.put(new FeedbackTextIndex.Document(row.getId(), row.getComments(),
+                        row.getTrainerId(), row.getCourseId(), row.getRating()));
+                afterId = row.getId();
+            }
+        } while (rows.size() == INDEX_BATCH_SIZE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmTrends() {
+        feedbackTrendTracker.clear();
+        LocalDateTime since = LocalDate.now().minusDays(FeedbackTrendTracker.WINDOW_DAYS - 1).atStartOfDay();
+        Long afterId = 0L;
+        List<FeedbackIndexRow> rows;
+        do {
+            rows = feedbackRepository.findIndexRowsSince(since, afterId, PageRequest.of(0, INDEX_BATCH_SIZE));
+            for (FeedbackIndexRow row : rows) {
+                feedbackTrendTracker.record(row.getTrainerId(), row.getCourseId(), row.getSubmittedAt().toLocalDate(),
+                        row.getComments());
+                afterId = row.getId();
+            }
+        } while (rows.size() == INDEX_BATCH_SIZE);
+    }
+
+    private List<FeedbackDto> loadRecentFeedback(int limit) {
+        return feedbackRepository.findByOrderBySubmittedAtDescIdDesc(PageRequest.of(0, limit)).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
@@ -248,69 +315,159 @@ public class FeedbackService {
         if (rating < 1 || rating > 5) {
             throw new ValidationException("Rating must be between 1 and 5");
         }
-        
-        return feedbackRepository.findAll().stream()
-                .filter(feedback -> feedback.getRating().equals(rating))
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+
+        return feedbackRepository.filter(rating, null, null, null, null, null, null, null, null, Pageable.unpaged());
     }
 
     public List<FeedbackDto> getAnonymousFeedback() {
-        return feedbackRepository.findAll().stream()
-                .filter(Feedback::isAnonymous)
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return feedbackRepository.filter(null, true, null, null, null, null, null, null, null, Pageable.unpaged());
     }
 
     public List<FeedbackDto> getNonAnonymousFeedback() {
-        return feedbackRepository.findAll().stream()
-                .filter(feedback -> !feedback.isAnonymous())
+        return feedbackRepository.filter(null, false, null, null, null, null, null, null, null, Pageable.unpaged());
+    }
+
+    public FeedbackPage searchFeedback(FeedbackFilter filter, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.getRating() != null && (filter.getRating() < 1 || filter.getRating() > 5)) {
+            throw new ValidationException("Rating must be between 1 and 5");
+        }
+
+        LocalDateTime afterSubmittedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                afterSubmittedAt = LocalDateTime.parse(parts[0]);
+                afterId = Long.valueOf(parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new ValidationException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<FeedbackDto> rows = feedbackRepository.filter(filter.getRating(), filter.getAnonymous(),
+                filter.getFeedbackType(), filter.getTrainerId(), filter.getCourseId(), filter.getFrom(),
+                filter.getTo(), afterSubmittedAt, afterId, PageRequest.of(0, size + 1));
+
+        if (rows.size() <= size) {
+            return new FeedbackPage(rows, null);
+        }
+        List<FeedbackDto> items = rows.subList(0, size);
+        FeedbackDto last = items.get(size - 1);
+        return new FeedbackPage(items, encodeCursor(last.getSubmittedAt(), last.getId()));
+    }
+
+    /**
+     * Ranked full-text search over comments, optionally narrowed to a trainer,
+     * course or rating. Results come back best match first.
+     */
+    public List<FeedbackDto> searchComments(String query, Long trainerId, Long courseId, Integer rating, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (rating != null && (rating < 1 || rating > 5)) {
+            throw new ValidationException("Rating must be between 1 and 5");
+        }
+        limit = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        List<Long> ids = feedbackTextIndex.search(query, trainerId, courseId, rating, limit).stream()
+                .map(FeedbackTextIndex.Hit::id)
+                .collect(Collectors.toList());
+        Map<Long, Feedback> byId = feedbackRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Feedback::getId, f -> f));
+
+        // Keep the index's ranking; skip hits deleted since they were scored
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    public List<KeywordTrendDto> getKeywordTrends(Long trainerId, Long courseId, int limit) {
+        if (trainerId != null && courseId != null) {
+            throw new ValidationException("Keyword trends can be filtered by trainer or by course, not both");
+        }
+        return feedbackTrendTracker.top(trainerId, courseId, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
     // Helper Methods
-    private Map<String, Object> calculateFeedbackAnalytics(List<Feedback> feedbacks, String type) {
+    private FeedbackDto saveSubmitted(Feedback feedback) {
+        feedback = feedbackRepository.save(feedback);
+        feedbackCounterService.record(feedback.getFeedbackType(), feedback.getRating(), 1);
+        FeedbackDto dto = convertToDto(feedback);
+        TransactionUtils.runAfterCommit(() -> recentFeedbackCache.add(dto));
+        feedbackTextIndex.putAfterCommit(toIndexDocument(feedback));
+        recordTrendAfterCommit(feedback);
+        return dto;
+    }
+
+    private FeedbackTextIndex.Document toIndexDocument(Feedback feedback) {
+        return new FeedbackTextIndex.Document(feedback.getId(), feedback.getComments(),
+                feedback.getTrainer() != null ? feedback.getTrainer().getId() : null,
+                feedback.getCourse() != null ? feedback.getCourse().getId() : null,
+                feedback.getRating());
+    }
+
+    private void recordTrendAfterCommit(Feedback feedback) {
+        Long trainerId = feedback.getTrainer() != null ? feedback.getTrainer().getId() : null;
+        Long courseId = feedback.getCourse() != null ? feedback.getCourse().getId() : null;
+        LocalDate day = feedback.getSubmittedAt().toLocalDate();
+        String comments = feedback.getComments();
+        TransactionUtils.runAfterCommit(() -> feedbackTrendTracker.record(trainerId, courseId, day, comments));
+    }
+
+    private String encodeCursor(LocalDateTime submittedAt, Long id) {
+        String raw = submittedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Object> calculateFeedbackAnalytics(List<FeedbackRatingBucket> buckets, String type) {
         Map<String, Object> analytics = new HashMap<>();
-        
+
+        long totalFeedback = 0;
+        long ratingSum = 0;
+        long anonymousCount = 0;
+        int highestRating = Integer.MIN_VALUE;
+        int lowestRating = Integer.MAX_VALUE;
+        Map<Integer, Long> ratingDistribution = new HashMap<>();
+
+        // Each bucket is one (rating, anonymous) group from the database
+        for (FeedbackRatingBucket bucket : buckets) {
+            long count = bucket.getTotal();
+            totalFeedback += count;
+            if (Boolean.TRUE.equals(bucket.getAnonymous())) {
+                anonymousCount += count;
+            }
+            if (bucket.getRating() != null) {
+                int rating = bucket.getRating();
+                ratingSum += rating * count;
+                ratingDistribution.merge(rating, count, Long::sum);
+                highestRating = Math.max(highestRating, rating);
+                lowestRating = Math.min(lowestRating, rating);
+            }
+        }
+
         analytics.put("type", type);
-        analytics.put("totalFeedback", feedbacks.size());
-        
-        if (feedbacks.isEmpty()) {
+        analytics.put("totalFeedback", totalFeedback);
+
+        if (totalFeedback == 0) {
             analytics.put("averageRating", 0.0);
             analytics.put("ratingDistribution", new HashMap<>());
             return analytics;
         }
-        
-        // Calculate average rating
-        double averageRating = feedbacks.stream()
-                .mapToInt(Feedback::getRating)
-                .average().orElse(0.0);
+
+        double averageRating = (double) ratingSum / totalFeedback;
         analytics.put("averageRating", Math.round(averageRating * 100.0) / 100.0);
-        
-        // Calculate rating distribution
-        Map<Integer, Long> ratingDistribution = feedbacks.stream()
-                .collect(Collectors.groupingBy(
-                    Feedback::getRating,
-                    Collectors.counting()
-                ));
         analytics.put("ratingDistribution", ratingDistribution);
-        
-        // Calculate anonymous vs non-anonymous
-        long anonymousCount = feedbacks.stream()
-                .filter(Feedback::isAnonymous)
-                .count();
         analytics.put("anonymousCount", anonymousCount);
-        analytics.put("nonAnonymousCount", feedbacks.size() - anonymousCount);
-        
-        // Find highest and lowest ratings
-        analytics.put("highestRating", feedbacks.stream()
-                .mapToInt(Feedback::getRating)
-                .max().orElse(0));
-        analytics.put("lowestRating", feedbacks.stream()
-                .mapToInt(Feedback::getRating)
-                .min().orElse(0));
-        
+        analytics.put("nonAnonymousCount", totalFeedback - anonymousCount);
+        analytics.put("highestRating", ratingDistribution.isEmpty() ? 0 : highestRating);
+        analytics.put("lowestRating", ratingDistribution.isEmpty() ? 0 : lowestRating);
+
         return analytics;
     }
 
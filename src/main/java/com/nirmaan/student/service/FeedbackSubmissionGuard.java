@@ -0,0 +1,87 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.enums.FeedbackType;
+import com.nirmaan.student.exception.TooManyRequestsException;
+import com.nirmaan.student.exception.ValidationException;
+import com.nirmaan.student.util.ExpiringLruCache;
+import com.nirmaan.student.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects feedback bursts and accidental resubmissions before they are
+ * written. Each student gets a token bucket, and each submission's content
+ * hash is remembered for a short window. Both maps are bounded in size.
+ */
+@Service
+public class FeedbackSubmissionGuard {
+
+    private static final int MAX_TRACKED = 10_000;
+
+    private final ExpiringLruCache<Long, TokenBucket> limiters;
+    private final ExpiringLruCache<String, Boolean> recentSubmissions;
+    private final int burst;
+    private final int perMinute;
+
+    public FeedbackSubmissionGuard(@Value("${app.feedback.submit.burst:5}") int burst,
+            @Value("${app.feedback.submit.per-minute:10}") int perMinute,
+            @Value("${app.feedback.submit.dedup-window-seconds:30}") long dedupWindowSeconds) {
+        this.burst = burst;
+        this.perMinute = perMinute;
+        // An idle bucket refills completely well within ten minutes, so dropping it loses nothing
+        this.limiters = new ExpiringLruCache<>(MAX_TRACKED, 10, TimeUnit.MINUTES);
+        this.recentSubmissions = new ExpiringLruCache<>(MAX_TRACKED, dedupWindowSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Admits a submission or throws. It only looks at the raw request, so
+     * callers check it before loading anything. Duplicates are a validation
+     * error, bursts are a 429. If the surrounding transaction rolls back the
+     * content hash is released so the student can retry straight away.
+     * {@code targetId} is the trainer or course id, or null.
+     */
+    public void admit(Long studentId, FeedbackType type, Long targetId, Integer rating, String comments) {
+        String key = fingerprint(studentId, type, targetId, rating, comments);
+        if (recentSubmissions.putIfAbsent(key, Boolean.TRUE) != null) {
+            throw new ValidationException("Duplicate feedback submission");
+        }
+
+        long waitNanos = limiters.computeIfAbsent(studentId,
+                id -> new TokenBucket(burst, perMinute, 1, TimeUnit.MINUTES)).tryAcquire();
+        if (waitNanos > 0) {
+            recentSubmissions.remove(key);
+            throw new TooManyRequestsException("Too many feedback submissions, please try again later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        recentSubmissions.remove(key);
+                    }
+                }
+            });
+        }
+    }
+
+    private String fingerprint(Long studentId, FeedbackType type, Long targetId, Integer rating, String comments) {
+        String raw = studentId + "\u0000" + type + ":" + (targetId != null ? targetId : "") + "\u0000" + rating
+                + "\u0000" + (comments != null ? comments.strip() : "");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.entity.IdSequence;
+import com.nirmaan.student.repository.IdSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out readable, sortable business ids such as STD20260000042: prefix,
+ * year, then a seven digit counter that restarts each year. Each server
+ * reserves a block of counter values from id_sequences in its own short
+ * transaction and serves the block from memory with a single atomic
+ * increment per id, so ids never collide across servers and the table is
+ * touched once per block. Values in a block left unused at shutdown are
+ * skipped, leaving gaps but never duplicates.
+ */
+@Service
+public class IdAllocator {
+
+    public static final String STUDENT_PREFIX = "STD";
+    public static final String TRAINER_PREFIX = "TRN";
+
+    private static final long MAX_COUNTER = 9_999_999L;
+
+    private record Block(AtomicLong cursor, long limit) {
+    }
+
+    private final IdSequenceRepository idSequenceRepository;
+    private final TransactionTemplate reservationTransaction;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public IdAllocator(IdSequenceRepository idSequenceRepository, PlatformTransactionManager transactionManager,
+            @Value("${app.ids.block-size:100}") int blockSize) {
+        this.idSequenceRepository = idSequenceRepository;
+        // Independent of the caller: a rolled back registration must not hand its block out again
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String nextStudentId() {
+        return next(STUDENT_PREFIX);
+    }
+
+    public String nextTrainerId() {
+        return next(TRAINER_PREFIX);
+    }
+
+    public String next(String prefix) {
+        String sequence = prefix + Year.now().getValue();
+        while (true) {
+            Block block = blocks.get(sequence);
+            if (block != null) {
+                long value = block.cursor().getAndIncrement();
+                if (value < block.limit()) {
+                    return format(sequence, value);
+                }
+            }
+            refill(sequence, block);
+        }
+    }
+
+    private String format(String sequence, long value) {
+        if (value > MAX_COUNTER) {
+            throw new IllegalStateException("Id sequence " + sequence + " is exhausted");
+        }
+        return sequence + String.format("%07d", value);
+    }
+
+    private void refill(String sequence, Block exhausted) {
+        synchronized (this) {
+            // Another thread may have refilled while this one waited
+            if (blocks.get(sequence) != exhausted) {
+                return;
+            }
+            long start = reserve(sequence);
+            blocks.put(sequence, new Block(new AtomicLong(start), start + blockSize));
+        }
+    }
+
+    private long reserve(String sequence) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Long start = reservationTransaction.execute(status -> {
+                    IdSequence row = idSequenceRepository.findForUpdate(sequence)
+                            .orElseGet(() -> idSequenceRepository.saveAndFlush(new IdSequence(sequence, 1)));
+                    long first = row.getNextValue();
+                    row.setNextValue(first + blockSize);
+                    return first;
+                });
+                return start;
+            } catch (DataIntegrityViolationException e) {
+                // Another server created the row first; lock it on the next attempt
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.event.DomainWriteEvent;
+import com.nirmaan.student.event.DomainWriteEvent.Domain;
+import com.nirmaan.student.event.DomainWriteEvent.WriteType;
+import com.nirmaan.student.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes dashboard counter deltas to open dashboards over Server-Sent Events.
+ * Committed writes bump in-memory adders: platform-wide ones for admins, and
+ * one set per trainer with an open stream, fed by the trainers each event
+ * names. Once a second the adders are drained into one frame per feed and
+ * sent to its subscribers, so the database sees no extra load however many
+ * dashboards are open. Frames are sent off the scheduler thread, and while
+ * one round is still going out the next tick leaves the adders alone so their
+ * counts roll into the following frame.
+ */
+@Slf4j
+@Service
+public class LiveDashboardService {
+
+    private static final long HEARTBEAT_EVERY_FRAMES = 15;
+
+    private final Counters platformCounters = new Counters();
+    // Only trainers with an open stream have counters, so writes for everyone else cost a map lookup
+    private final Map<Long, Counters> trainerCounters = new ConcurrentHashMap<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Slow clients block a send, so frames go out on their own thread, one round at a time
+    private final ExecutorService broadcastExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final long streamTimeoutMs;
+    private final int maxSubscribers;
+    private volatile long frameNumber;
+
+    private record Counters(LongAdder checkIns, LongAdder quizSubmissions, LongAdder feedback) {
+
+        Counters() {
+            this(new LongAdder(), new LongAdder(), new LongAdder());
+        }
+
+        void increment(Domain domain) {
+            switch (domain) {
+                case ATTENDANCE -> checkIns.increment();
+                case QUIZ_ATTEMPT -> quizSubmissions.increment();
+                case FEEDBACK -> feedback.increment();
+                default -> {
+                }
+            }
+        }
+
+        // Null when nothing happened since the last drain
+        Map<String, Object> drain(LocalDateTime at) {
+            long newCheckIns = checkIns.sumThenReset();
+            long newSubmissions = quizSubmissions.sumThenReset();
+            long newFeedback = feedback.sumThenReset();
+            if (newCheckIns + newSubmissions + newFeedback == 0) {
+                return null;
+            }
+            Map<String, Object> frame = new LinkedHashMap<>();
+            frame.put("checkIns", newCheckIns);
+            frame.put("quizSubmissions", newSubmissions);
+            frame.put("feedback", newFeedback);
+            frame.put("at", at);
+            return frame;
+        }
+    }
+
+    // lastSentFrame is only touched by the broadcast round in flight, and rounds never overlap
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long trainerId;
+        private long lastSentFrame;
+
+        private Subscriber(SseEmitter emitter, Long trainerId, long frameNumber) {
+            this.emitter = emitter;
+            this.trainerId = trainerId;
+            this.lastSentFrame = frameNumber;
+        }
+    }
+
+    public LiveDashboardService(@Value("${app.dashboard.stream-timeout-ms:1800000}") long streamTimeoutMs,
+            @Value("${app.dashboard.stream-max-subscribers:500}") int maxSubscribers) {
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * Opens a stream of counter deltas: platform-wide when {@code trainerId}
+     * is null, otherwise only activity on that trainer's batches, quizzes and
+     * feedback.
+     */
+    public SseEmitter subscribe(Long trainerId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Too many open dashboard streams", 30);
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, trainerId, frameNumber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Listed before its counters exist, so flush never drops counters a new subscriber needs
+        subscribers.add(subscriber);
+        if (trainerId != null) {
+            trainerCounters.computeIfAbsent(trainerId, id -> new Counters());
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainWrite(DomainWriteEvent event) {
+        if (event.type() != WriteType.CREATED) {
+            return;
+        }
+        platformCounters.increment(event.domain());
+        for (Long trainerId : event.trainerIds()) {
+            Counters counters = trainerCounters.get(trainerId);
+            if (counters != null) {
+                counters.increment(event.domain());
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.dashboard.stream-frame-ms:1000}")
+    public void flush() {
+        if (!sending.compareAndSet(false, true)) {
+            return;
+        }
+        long frame = ++frameNumber;
+        // Drain even with no subscribers so a late joiner does not get a backlog
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> platformFrame = platformCounters.drain(now);
+        Map<Long, Map<String, Object>> trainerFrames = new HashMap<>();
+        for (Long trainerId : trainerCounters.keySet()) {
+            // Stops counting for a trainer whose last stream has closed
+            Counters counters = trainerCounters.computeIfPresent(trainerId,
+                    (id, current) -> hasSubscriber(id) ? current : null);
+            Map<String, Object> trainerFrame = counters != null ? counters.drain(now) : null;
+            if (trainerFrame != null) {
+                trainerFrames.put(trainerId, trainerFrame);
+            }
+        }
+        if (subscribers.isEmpty()) {
+            sending.set(false);
+            return;
+        }
+
+        try {
+            broadcastExecutor.execute(() -> {
+                try {
+                    broadcast(frame, platformFrame, trainerFrames);
+                } finally {
+                    sending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            sending.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdownBroadcastExecutor() {
+        broadcastExecutor.shutdownNow();
+    }
+
+    private boolean hasSubscriber(Long trainerId) {
+        for (Subscriber subscriber : subscribers) {
+            if (trainerId.equals(subscriber.trainerId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // An event builder is consumed when sent, so each subscriber gets a fresh one
+    private void broadcast(long frame, Map<String, Object> platformFrame, Map<Long, Map<String, Object>> trainerFrames) {
+        for (Subscriber subscriber : subscribers) {
+            Map<String, Object> data = subscriber.trainerId == null
+                    ? platformFrame
+                    : trainerFrames.get(subscriber.trainerId);
+            SseEmitter.SseEventBuilder event;
+            if (data != null) {
+                event = SseEmitter.event().name("counters").data(data);
+            } else if (frame - subscriber.lastSentFrame >= HEARTBEAT_EVERY_FRAMES) {
+                // Keeps proxies from closing an idle stream
+                event = SseEmitter.event().comment("heartbeat");
+            } else {
+                continue;
+            }
+            try {
+                subscriber.emitter.send(event);
+                subscriber.lastSentFrame = frame;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping dashboard subscriber: {}", e.toString());
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+}
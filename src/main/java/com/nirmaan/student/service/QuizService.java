@@ -1,6 +1,8 @@
 package com.nirmaan.student.service;
 
+import com.nirmaan.student.cache.QuizSnapshotCache;
 import com.nirmaan.student.dto.QuizDto;
+import com.nirmaan.student.dto.QuizSnapshot;
 import com.nirmaan.student.dto.QuestionDto;
 import com.nirmaan.student.entity.Quiz;
 import com.nirmaan.student.entity.Question;
@@ -38,6 +40,8 @@ public class QuizService {
     private final BatchRepository batchRepository;
     private final StudentQuizAttemptRepository studentQuizAttemptRepository;
     private final StudentRepository studentRepository;
+    private final QuizSnapshotCache quizSnapshotCache;
+    private final StudentPerformanceService studentPerformanceService;
 
     // Basic CRUD Operations
     public List<QuizDto> getAllQuizzes() {
@@ -55,6 +59,7 @@ public class QuizService {
             throw new ResourceNotFoundException("Quiz not found");
         }
         quizRepository.deleteById(id);
+        quizSnapshotCache.evictAfterCommit(id);
     }
 
     @Transactional
@@ -120,8 +125,10 @@ public class QuizService {
         quiz.setStartTime(quizDto.getStartTime());
         quiz.setEndTime(quizDto.getEndTime());
         quiz.setActive(quizDto.isActive());
+        quiz.setContentVersion(quiz.getContentVersion() + 1);
 
         quiz = quizRepository.save(quiz);
+        quizSnapshotCache.evictAfterCommit(quiz.getId());
         return convertToDto(quiz);
     }
 
@@ -166,10 +173,13 @@ public class QuizService {
                 .filter(quiz -> quiz.getStartTime().isBefore(LocalDateTime.now())
                         && quiz.getEndTime().isAfter(LocalDateTime.now()))
                 .filter(quiz -> quiz.getCourseType() == null || quiz.getCourseType().equals(student.getEnrolledCourse()))
-                .filter(quiz -> quiz.getBatch() == null || quiz.getBatch().equals(student.getBatch()))
+                // Compare ids: entity equality would initialise the batches' lazy course and trainer
+                .filter(quiz -> quiz.getBatch() == null || (student.getBatch() != null
+                        && quiz.getBatch().getId().equals(student.getBatch().getId())))
                 .map(this::convertToDto).collect(Collectors.toList());
     }
 
+    @Transactional
     public StudentQuizAttempt submitQuizAttempt(Long studentId, Long quizId, Map<Long, String> answers) {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
@@ -185,13 +195,13 @@ public class QuizService {
             throw new ValidationException("Quiz is not available for submission");
         }
 
-        List<Question> questions = questionRepository.findByQuiz(quiz);
+        QuizSnapshot snapshot = getCurrentSnapshot(quiz);
         int correctAnswers = 0;
-        int totalQuestions = questions.size();
+        int totalQuestions = snapshot.questions().size();
 
-        for (Question question : questions) {
-            String studentAnswer = answers.get(question.getId());
-            if (studentAnswer != null && studentAnswer.equals(question.getCorrectAnswer())) {
+        for (Map.Entry<Long, String> key : snapshot.answerKey().entrySet()) {
+            String studentAnswer = answers.get(key.getKey());
+            if (studentAnswer != null && studentAnswer.equals(key.getValue())) {
                 correctAnswers++;
             }
         }
@@ -208,8 +218,11 @@ public class QuizService {
         attempt.setScore(score);
         attempt.setAnswers(answers.toString()); // Convert to JSON in real implementation
         attempt.setCompleted(true);
+        attempt.setQuizVersion(snapshot.version());
 
-        return studentQuizAttemptRepository.save(attempt);
+        attempt = studentQuizAttemptRepository.save(attempt);
+        studentPerformanceService.recordAttempt(attempt);
+        return attempt;
     }
 
     public List<StudentQuizAttempt> getStudentQuizAttempts(Long studentId) {
@@ -225,6 +238,7 @@ public class QuizService {
     }
 
     // Question Management
+    @Transactional
     public QuestionDto addQuestionToQuiz(Long quizId, QuestionDto questionDto) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
@@ -240,9 +254,11 @@ public class QuizService {
         question.setMarks(questionDto.getMarks());
 
         question = questionRepository.save(question);
+        bumpContentVersion(quiz);
         return convertQuestionToDto(question);
     }
 
+    @Transactional
     public QuestionDto updateQuestion(Long questionId, QuestionDto questionDto) {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Question not found"));
@@ -256,22 +272,61 @@ public class QuizService {
         question.setMarks(questionDto.getMarks());
 
         question = questionRepository.save(question);
+        bumpContentVersion(question.getQuiz());
         return convertQuestionToDto(question);
     }
 
+    @Transactional
     public void deleteQuestion(Long questionId) {
-        if (!questionRepository.existsById(questionId)) {
-            throw new ResourceNotFoundException("Question not found");
-        }
-        questionRepository.deleteById(questionId);
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Question not found"));
+        questionRepository.delete(question);
+        bumpContentVersion(question.getQuiz());
     }
 
     public List<QuestionDto> getQuizQuestions(Long quizId) {
+        return getQuizSnapshot(quizId).questions().stream()
+                .map(this::convertSnapshotItemToDto)
+                .collect(Collectors.toList());
+    }
+
+    // Snapshots
+    public QuizSnapshot getQuizSnapshot(Long quizId) {
+        return quizSnapshotCache.get(quizId, this::loadSnapshot);
+    }
+
+    private QuizSnapshot getCurrentSnapshot(Quiz quiz) {
+        QuizSnapshot snapshot = getQuizSnapshot(quiz.getId());
+        if (snapshot.version() != quiz.getContentVersion()) {
+            quizSnapshotCache.evict(quiz.getId());
+            snapshot = getQuizSnapshot(quiz.getId());
+        }
+        return snapshot;
+    }
+
+    private QuizSnapshot loadSnapshot(Long quizId) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
 
         List<Question> questions = questionRepository.findByQuiz(quiz);
-        return questions.stream().map(this::convertQuestionToDto).collect(Collectors.toList());
+        List<QuizSnapshot.Item> items = new ArrayList<>(questions.size());
+        Map<Long, String> answerKey = new HashMap<>();
+        for (Question question : questions) {
+            items.add(new QuizSnapshot.Item(question.getId(), question.getQuestionText(), question.getOptionA(),
+                    question.getOptionB(), question.getOptionC(), question.getOptionD(), question.getMarks()));
+            if (question.getCorrectAnswer() != null) {
+                answerKey.put(question.getId(), question.getCorrectAnswer());
+            }
+        }
+
+        return new QuizSnapshot(quiz.getId(), quiz.getContentVersion(), quiz.getTitle(), quiz.getDescription(),
+                quiz.getCourseType(), quiz.getTimeLimit(), quiz.getStartTime(), quiz.getEndTime(), items, answerKey);
+    }
+
+    private void bumpContentVersion(Quiz quiz) {
+        quiz.setContentVersion(quiz.getContentVersion() + 1);
+        quizRepository.save(quiz);
+        quizSnapshotCache.evictAfterCommit(quiz.getId());
     }
 
     // Analytics
@@ -337,6 +392,18 @@ public class QuizService {
         return dto;
     }
 
+    private QuestionDto convertSnapshotItemToDto(QuizSnapshot.Item item) {
+        QuestionDto dto = new QuestionDto();
+        dto.setId(item.id());
+        dto.setQuestionText(item.questionText());
+        dto.setOptionA(item.optionA());
+        dto.setOptionB(item.optionB());
+        dto.setOptionC(item.optionC());
+        dto.setOptionD(item.optionD());
+        dto.setMarks(item.marks());
+        return dto;
+    }
+
     private QuestionDto convertQuestionToDto(Question question) {
         QuestionDto dto = new QuestionDto();
         dto.setId(question.getId());
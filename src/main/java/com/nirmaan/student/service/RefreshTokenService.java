@@ -0,0 +1,138 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.entity.RefreshToken;
+import com.nirmaan.student.entity.User;
+import com.nirmaan.student.exception.UnauthorizedException;
+import com.nirmaan.student.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. A refresh costs one indexed lookup
+ * instead of a password hash check. Presenting a token that has already been
+ * rotated means it leaked, so the whole family is revoked along with every
+ * access token the user holds, and the user must log in again.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecureRandom random = new SecureRandom();
+    private final long refreshExpirationMs;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+            TokenRevocationService tokenRevocationService,
+            @Value("${app.jwt.refresh-expiration}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * Starts a new family for {@code user} and returns the raw token.
+     */
+    @Transactional
+    public String issue(User user) {
+        return create(user, UUID.randomUUID().toString()).raw();
+    }
+
+    /**
+     * Exchanges {@code rawToken} for its successor. The revocation of a
+     * reused family must survive the rejection, hence noRollbackFor.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.getRevokedAt() != null || refreshTokenRepository.revoke(current.getId(), now) == 0) {
+            log.warn("Refresh token reuse for user {}, revoking family {}", current.getUser().getId(),
+                    current.getFamilyId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            // Access tokens minted from the leaked family are still out there
+            tokenRevocationService.revokeUser(current.getUser().getId());
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new UnauthorizedException("Refresh token has expired");
+        }
+        User user = current.getUser();
+        if (!user.isActive()) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            tokenRevocationService.revokeUser(user.getId());
+            throw new UnauthorizedException("User account is inactive");
+        }
+
+        Issued next = create(user, current.getFamilyId());
+        current.setRevokedAt(now);
+        current.setReplacedBy(next.token().getId());
+        refreshTokenRepository.save(current);
+        return new Rotation(user, next.raw());
+    }
+
+    /**
+     * Ends the session {@code rawToken} belongs to. Unknown tokens are ignored
+     * so logout is idempotent.
+     */
+    @Transactional
+    public void revokeFamily(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private record Issued(RefreshToken token, String raw) {
+    }
+
+    private Issued create(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(raw));
+        token.setUser(user);
+        token.setFamilyId(familyId);
+        token.setCreatedAt(LocalDateTime.now());
+        token.setExpiresAt(token.getCreatedAt().plus(refreshExpirationMs, ChronoUnit.MILLIS));
+        return new Issued(refreshTokenRepository.save(token), raw);
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.dto.StudentPerformanceDto;
+import com.nirmaan.student.entity.CourseScoreStats;
+import com.nirmaan.student.entity.Student;
+import com.nirmaan.student.entity.StudentPerformanceProfile;
+import com.nirmaan.student.entity.StudentQuizAttempt;
+import com.nirmaan.student.enums.CourseType;
+import com.nirmaan.student.exception.ResourceNotFoundException;
+import com.nirmaan.student.repository.StudentPerformanceProfileRepository;
+import com.nirmaan.student.repository.StudentQuizAttemptRepository;
+import com.nirmaan.student.repository.StudentRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class StudentPerformanceService {
+
+    private static final int RECENT_SCORES = 10;
+
+    private final StudentPerformanceProfileRepository profileRepository;
+    private final StudentQuizAttemptRepository studentQuizAttemptRepository;
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate profileCreation;
+
+    public StudentPerformanceService(StudentPerformanceProfileRepository profileRepository,
+            StudentQuizAttemptRepository studentQuizAttemptRepository, StudentRepository studentRepository,
+            PlatformTransactionManager transactionManager) {
+        this.profileRepository = profileRepository;
+        this.studentQuizAttemptRepository = studentQuizAttemptRepository;
+        this.studentRepository = studentRepository;
+        // Independent of the caller, so a lost race on the unique student id only fails this insert
+        this.profileCreation = new TransactionTemplate(transactionManager);
+        this.profileCreation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Folds a freshly graded attempt into the student's profile. Must run in the
+     * same transaction that saves the attempt.
+     */
+    @Transactional
+    public void recordAttempt(StudentQuizAttempt attempt) {
+        Long studentId = attempt.getStudent().getId();
+        // A plain check first: a locking read of a missing row would gap-lock the placeholder insert out
+        if (!profileRepository.existsByStudentId(studentId)) {
+            createPlaceholder(studentId);
+        }
+        StudentPerformanceProfile profile = profileRepository.findByStudentIdForUpdate(studentId)
+                .orElseThrow(() -> new IllegalStateException("Performance profile missing for student " + studentId));
+
+        if (profile.getUpdatedAt() != null) {
+            apply(profile, attempt);
+        } else {
+            // The attempt is flushed before the rebuild query, so it is already counted
+            backfill(profile, attempt.getStudent());
+        }
+        profileRepository.save(profile);
+    }
+
+    /**
+     * Read only: a student without a profile yet gets one computed on the fly,
+     * and the row itself is only ever created by {@link #recordAttempt}.
+     */
+    @Transactional(readOnly = true)
+    public StudentPerformanceDto getPerformance(Long studentId) {
+        StudentPerformanceProfile profile = profileRepository.findByStudentId(studentId)
+                .filter(p -> p.getUpdatedAt() != null)
+                .orElseGet(() -> {
+                    Student student = studentRepository.findById(studentId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+                    StudentPerformanceProfile rebuilt = new StudentPerformanceProfile();
+                    rebuilt.setStudentId(studentId);
+                    backfill(rebuilt, student);
+                    return rebuilt;
+                });
+        return convertToDto(profile);
+    }
+
+    // Inserts an empty row in its own transaction, so a concurrent first attempt loses on the
+    // unique student id without rolling back its quiz submission. Whoever locks the row first
+    // backfills it; later attempts find it filled and just apply.
+    private void createPlaceholder(Long studentId) {
+        try {
+            profileCreation.executeWithoutResult(status -> {
+                StudentPerformanceProfile placeholder = new StudentPerformanceProfile();
+                placeholder.setStudentId(studentId);
+                profileRepository.saveAndFlush(placeholder);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another submission created the row first
+        }
+    }
+
+    // Backfills a profile for students whose attempts predate profiles
+    private void backfill(StudentPerformanceProfile profile, Student student) {
+        List<StudentQuizAttempt> attempts = new ArrayList<>(studentQuizAttemptRepository.findByStudent(student));
+        attempts.removeIf(a -> !a.isCompleted() || a.getScore() == null);
+        attempts.sort(Comparator.comparing(StudentQuizAttempt::getEndTime,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+        attempts.forEach(a -> apply(profile, a));
+
+        profile.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private void apply(StudentPerformanceProfile profile, StudentQuizAttempt attempt) {
+        int score = attempt.getScore();
+        profile.setAttempts(profile.getAttempts() + 1);
+        profile.setTotalScore(profile.getTotalScore() + score);
+        profile.setBestScore(Math.max(profile.getBestScore(), score));
+
+        CourseType courseType = attempt.getQuiz().getCourseType();
+        if (courseType != null) {
+            CourseScoreStats stats = profile.getCourseStats().computeIfAbsent(courseType,
+                    type -> new CourseScoreStats());
+            stats.setAttempts(stats.getAttempts() + 1);
+            stats.setTotalScore(stats.getTotalScore() + score);
+            stats.setBestScore(Math.max(stats.getBestScore(), score));
+        }
+
+        List<Integer> recent = parseScores(profile.getRecentScores());
+        recent.add(score);
+        if (recent.size() > RECENT_SCORES) {
+            recent = recent.subList(recent.size() - RECENT_SCORES, recent.size());
+        }
+        profile.setRecentScores(recent.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        profile.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private List<Integer> parseScores(String scores) {
+        if (scores == null || scores.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(scores.split(",")).map(Integer::valueOf).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private StudentPerformanceDto convertToDto(StudentPerformanceProfile profile) {
+        StudentPerformanceDto dto = new StudentPerformanceDto();
+        dto.setStudentId(profile.getStudentId());
+        dto.setAttempts(profile.getAttempts());
+        dto.setAverageScore(average(profile.getTotalScore(), profile.getAttempts()));
+        dto.setBestScore(profile.getBestScore());
+
+        Map<CourseType, StudentPerformanceDto.CourseStats> breakdown = new EnumMap<>(CourseType.class);
+        profile.getCourseStats().forEach((courseType, stats) -> {
+            StudentPerformanceDto.CourseStats courseStats = new StudentPerformanceDto.CourseStats();
+            courseStats.setAttempts(stats.getAttempts());
+            courseStats.setAverageScore(average(stats.getTotalScore(), stats.getAttempts()));
+            courseStats.setBestScore(stats.getBestScore());
+            breakdown.put(courseType, courseStats);
+        });
+        dto.setCourseBreakdown(breakdown);
+
+        List<Integer> recent = parseScores(profile.getRecentScores());
+        dto.setRecentScores(recent);
+        dto.setRecentTrend(trend(recent));
+        dto.setUpdatedAt(profile.getUpdatedAt());
+        return dto;
+    }
+
+    private double trend(List<Integer> recent) {
+        if (recent.size() < 2) {
+            return 0.0;
+        }
+        int half = recent.size() / 2;
+        double earlier = recent.subList(0, half).stream().mapToInt(Integer::intValue).average().orElse(0.0);
+        double later = recent.subList(recent.size() - half, recent.size()).stream().mapToInt(Integer::intValue)
+                .average().orElse(0.0);
+        return Math.round((later - earlier) * 100.0) / 100.0;
+    }
+
+    private double average(long total, int count) {
+        return count > 0 ? Math.round(total * 100.0 / count) / 100.0 : 0.0;
+    }
+}
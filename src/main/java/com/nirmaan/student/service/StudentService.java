@@ -1,28 +1,49 @@
 package com.nirmaan.student.service;
 
+import com.nirmaan.student.cache.RowCountCache;
+import com.nirmaan.student.dto.ListingPage;
 import com.nirmaan.student.dto.StudentDto;
+import com.nirmaan.student.dto.StudentSummary;
 import com.nirmaan.student.entity.Student;
 import com.nirmaan.student.entity.User;
+import com.nirmaan.student.enums.CourseType;
 import com.nirmaan.student.exception.ResourceNotFoundException;
 import com.nirmaan.student.repository.StudentRepository;
 import com.nirmaan.student.repository.UserRepository;
+import com.nirmaan.student.util.PageRequests;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class StudentService {
 
+	private static final Map<String, String> STUDENT_SORTS = Map.of("id", "s.id", "studentId", "s.studentId",
+			"username", "u.username", "firstName", "u.firstName", "lastName", "u.lastName",
+			"enrolledCourse", "s.enrolledCourse", "batchName", "b.batchName", "enrollmentDate", "s.enrollmentDate");
+
 	private final StudentRepository studentRepository;
 	private final UserRepository userRepository;
+	private final RowCountCache rowCountCache;
 
 	public List<StudentDto> getAllStudents() {
 		return studentRepository.findAll().stream().map(this::convertToDto).collect(Collectors.toList());
 	}
 
+	public ListingPage<StudentSummary> listStudents(CourseType course, int page, int size, String sort,
+			boolean approximateCount) {
+		Pageable pageable = PageRequests.of(page, size, sort, STUDENT_SORTS, "s.id");
+		Slice<StudentSummary> slice = studentRepository.findSummaries(course, pageable);
+		return rowCountCache.page("students:" + course, slice, approximateCount,
+				() -> course != null ? studentRepository.countByEnrolledCourse(course) : studentRepository.count());
+	}
+
 	public StudentDto getStudentById(Long id) {
 		Student student = studentRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
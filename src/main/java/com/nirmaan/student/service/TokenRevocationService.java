@@ -0,0 +1,200 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.entity.RevokedToken;
+import com.nirmaan.student.entity.UserTokenRevocation;
+import com.nirmaan.student.repository.RevokedTokenRepository;
+import com.nirmaan.student.repository.UserTokenRevocationRepository;
+import com.nirmaan.student.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deny list for access tokens, keyed by jti. The revoked_tokens table is the
+ * source of truth. Every request is checked against an in-memory Bloom filter,
+ * and only a filter hit consults the exact in-memory set, so an unrevoked token
+ * costs a few hashes and no database access. Both are rebuilt from the table
+ * periodically, which also picks up revocations made on other nodes.
+ * Revoking a user instead records a cutoff time in user_token_revocations, and
+ * any token of theirs issued up to it is refused.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private static final int MIN_FILTER_CAPACITY = 1024;
+
+    private record State(BloomFilter filter, Map<String, Long> expiries) {
+    }
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final TransactionTemplate revocationTransaction;
+    private final double falsePositiveRate;
+    private final long accessTokenLifetimeMs;
+    private final Object stateLock = new Object();
+    private volatile State state;
+    // User id -> epoch millis up to which that user's tokens are refused
+    private final Map<Long, Long> userCutoffs = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+            UserTokenRevocationRepository userTokenRevocationRepository, PlatformTransactionManager transactionManager,
+            @Value("${app.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.jwt.expiration}") long accessTokenLifetimeMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userTokenRevocationRepository = userTokenRevocationRepository;
+        // Independent of the caller: a revocation must stick even if the caller's work is rolled back
+        this.revocationTransaction = new TransactionTemplate(transactionManager);
+        this.revocationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.falsePositiveRate = falsePositiveRate;
+        this.accessTokenLifetimeMs = accessTokenLifetimeMs;
+        this.state = newState(new ConcurrentHashMap<>());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        State current = state;
+        return current.filter().mightContain(jti) && current.expiries().containsKey(jti);
+    }
+
+    /**
+     * Whether tokens of {@code userId} issued at {@code issuedAtMillis} have
+     * been revoked wholesale. Token issue times have whole-second precision,
+     * so a token issued later within the cutoff's second is refused too.
+     */
+    public boolean isRevokedForUser(Long userId, long issuedAtMillis) {
+        Long cutoff = userId != null ? userCutoffs.get(userId) : null;
+        return cutoff != null && issuedAtMillis <= cutoff;
+    }
+
+    /**
+     * Revokes the token with id {@code jti} until it expires. Committed in its
+     * own transaction and applied on this node straight away; other nodes
+     * pick it up at their next rebuild.
+     */
+    public void revoke(String jti, Long userId, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.before(new Date())) {
+            return;
+        }
+        try {
+            revocationTransaction.executeWithoutResult(status -> {
+                if (!revokedTokenRepository.existsByJti(jti)) {
+                    RevokedToken token = new RevokedToken();
+                    token.setJti(jti);
+                    token.setUserId(userId);
+                    token.setExpiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()));
+                    token.setRevokedAt(LocalDateTime.now());
+                    revokedTokenRepository.save(token);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent logout with the same token revoked it first
+        }
+        remember(jti, expiresAt.getTime());
+    }
+
+    /**
+     * Revokes every access token {@code userId} holds right now, for when
+     * their jtis are not known. Tokens issued afterwards are unaffected.
+     */
+    public void revokeUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                revocationTransaction.executeWithoutResult(status -> {
+                    UserTokenRevocation revocation = userTokenRevocationRepository.findById(userId)
+                            .orElseGet(UserTokenRevocation::new);
+                    revocation.setUserId(userId);
+                    revocation.setRevokedBefore(now);
+                    revocation.setExpiresAt(now.plus(accessTokenLifetimeMs, ChronoUnit.MILLIS));
+                    userTokenRevocationRepository.save(revocation);
+                });
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent revocation created the row first; update it on the next attempt
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+        userCutoffs.merge(userId, toEpochMillis(now), Math::max);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-interval-ms:60000}",
+            initialDelayString = "${app.security.revocation.rebuild-interval-ms:60000}")
+    @Transactional
+    public void refresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpiredBefore(now);
+        Map<String, Long> expiries = new ConcurrentHashMap<>();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtGreaterThanEqual(now)) {
+            expiries.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        synchronized (stateLock) {
+            // Keep local revocations that committed after the query above
+            long nowMillis = System.currentTimeMillis();
+            state.expiries().forEach((jti, expiresAt) -> {
+                if (expiresAt >= nowMillis) {
+                    expiries.putIfAbsent(jti, expiresAt);
+                }
+            });
+            state = newState(expiries);
+        }
+
+        userTokenRevocationRepository.deleteExpiredBefore(now);
+        for (UserTokenRevocation revocation : userTokenRevocationRepository.findByExpiresAtGreaterThanEqual(now)) {
+            userCutoffs.merge(revocation.getUserId(), toEpochMillis(revocation.getRevokedBefore()), Math::max);
+        }
+        // Any token issued before this has expired by now
+        long oldestLive = System.currentTimeMillis() - accessTokenLifetimeMs;
+        userCutoffs.values().removeIf(cutoff -> cutoff < oldestLive);
+        log.debug("Rebuilt token deny list with {} entries and {} user cutoffs", expiries.size(), userCutoffs.size());
+    }
+
+    private void remember(String jti, long expiresAtMillis) {
+        synchronized (stateLock) {
+            State current = state;
+            // Exact set first, so a filter hit always finds its entry
+            current.expiries().put(jti, expiresAtMillis);
+            current.filter().put(jti);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private State newState(Map<String, Long> expiries) {
+        BloomFilter filter = new BloomFilter(Math.max(MIN_FILTER_CAPACITY, expiries.size() * 2), falsePositiveRate);
+        expiries.keySet().forEach(filter::put);
+        return new State(filter, expiries);
+    }
+}
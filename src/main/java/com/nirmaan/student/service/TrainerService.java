@@ -1,28 +1,46 @@
 package com.nirmaan.student.service;
 
+import com.nirmaan.student.cache.RowCountCache;
+import com.nirmaan.student.dto.ListingPage;
 import com.nirmaan.student.dto.TrainerDto;
+import com.nirmaan.student.dto.TrainerSummary;
 import com.nirmaan.student.entity.Trainer;
 import com.nirmaan.student.entity.User;
 import com.nirmaan.student.exception.ResourceNotFoundException;
 import com.nirmaan.student.repository.TrainerRepository;
 import com.nirmaan.student.repository.UserRepository;
+import com.nirmaan.student.util.PageRequests;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TrainerService {
 
+	private static final Map<String, String> TRAINER_SORTS = Map.of("id", "t.id", "trainerId", "t.trainerId",
+			"username", "u.username", "firstName", "u.firstName", "lastName", "u.lastName",
+			"specialization", "t.specialization", "experienceYears", "t.experienceYears", "joiningDate", "t.joiningDate");
+
 	private final TrainerRepository trainerRepository;
 	private final UserRepository userRepository;
+	private final RowCountCache rowCountCache;
 
 	public List<TrainerDto> getAllTrainers() {
 		return trainerRepository.findAll().stream().map(this::convertToDto).collect(Collectors.toList());
 	}
 
+	public ListingPage<TrainerSummary> listTrainers(int page, int size, String sort, boolean approximateCount) {
+		Pageable pageable = PageRequests.of(page, size, sort, TRAINER_SORTS, "t.id");
+		Slice<TrainerSummary> slice = trainerRepository.findSummaries(pageable);
+		return rowCountCache.page("trainers", slice, approximateCount, trainerRepository::count);
+	}
+
 	public TrainerDto getTrainerById(Long id) {
 		Trainer trainer = trainerRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Trainer not found with id: " + id));
@@ -0,0 +1,334 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.dto.UserIdentity;
+import com.nirmaan.student.dto.UserImportReport;
+import com.nirmaan.student.dto.UserImportRowResult;
+import com.nirmaan.student.dto.UserRegistrationRequest;
+import com.nirmaan.student.enums.CourseType;
+import com.nirmaan.student.enums.Role;
+import com.nirmaan.student.event.DomainWriteEvent;
+import com.nirmaan.student.event.DomainWriteEvent.Domain;
+import com.nirmaan.student.event.DomainWriteEvent.WriteType;
+import com.nirmaan.student.exception.ValidationException;
+import com.nirmaan.student.repository.UserRepository;
+import com.nirmaan.student.security.OffloadingPasswordEncoder;
+import com.nirmaan.student.util.CsvParser;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registers a whole intake in one request. Rows are validated and checked
+ * against existing users with a single set query, passwords are hashed in
+ * parallel on the hashing pool, and users and profiles are written with JDBC
+ * batch inserts in one transaction. Rows that fail validation are reported
+ * and skipped; the rest are imported.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_USER = "INSERT INTO users (username, email, password, first_name, last_name, "
+            + "role, phone_number, active, created_at, updated_at) VALUES (:username, :email, :password, :firstName, "
+            + ":lastName, :role, :phoneNumber, TRUE, :now, :now)";
+    private static final String INSERT_STUDENT = "INSERT INTO students (user_id, student_id, date_of_birth, address, "
+            + "emergency_contact, enrolled_course, qualification, enrollment_date) VALUES (:userId, :studentId, "
+            + ":dateOfBirth, :address, :emergencyContact, :enrolledCourse, :qualification, :today)";
+    private static final String INSERT_TRAINER = "INSERT INTO trainers (user_id, trainer_id, specialization, "
+            + "qualifications, experience_years, certification, joining_date) VALUES (:userId, :trainerId, "
+            + ":specialization, :qualifications, :experienceYears, :certification, :today)";
+
+    private final UserRepository userRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final IdAllocator idAllocator;
+    private final int maxRows;
+
+    public UserImportService(UserRepository userRepository, NamedParameterJdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder, Validator validator, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager, IdAllocator idAllocator,
+            @Value("${app.users.import.max-rows:2000}") int maxRows) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.maxRows = maxRows;
+    }
+
+    private static final class Row {
+        private final int rowNumber;
+        private final UserRegistrationRequest request;
+        private String error;
+        private String passwordHash;
+        private Long userId;
+
+        private Row(int rowNumber, UserRegistrationRequest request, String error) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+            this.error = error;
+        }
+
+        private boolean pending() {
+            return error == null;
+        }
+    }
+
+    public UserImportReport importUsers(List<UserRegistrationRequest> requests) {
+        List<Row> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new Row(i + 1, requests.get(i), requests.get(i) == null ? "Empty row" : null));
+        }
+        return process(rows);
+    }
+
+    /**
+     * Imports CSV with a header row naming {@link UserRegistrationRequest}
+     * fields, e.g. {@code username,email,password,firstName,lastName,role}.
+     */
+    public UserImportReport importCsv(String csv) {
+        List<Map<String, String>> records = CsvParser.parse(csv);
+        List<Row> rows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            UserRegistrationRequest request = new UserRegistrationRequest();
+            String error = null;
+            try {
+                bind(records.get(i), request);
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+            rows.add(new Row(i + 1, request, error));
+        }
+        return process(rows);
+    }
+
+    private UserImportReport process(List<Row> rows) {
+        if (rows.isEmpty()) {
+            throw new ValidationException("No users to import");
+        }
+        if (rows.size() > maxRows) {
+            throw new ValidationException("At most " + maxRows + " users can be imported at once");
+        }
+
+        validate(rows);
+        rejectExisting(rows);
+        hashPasswords(rows);
+
+        List<Row> toInsert = rows.stream().filter(Row::pending).toList();
+        if (!toInsert.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(toInsert));
+            } catch (DataIntegrityViolationException e) {
+                // Lost a race with a concurrent registration; nothing was written
+                log.warn("User import rolled back: {}", e.getMostSpecificCause().getMessage());
+                throw new ValidationException("Import conflicted with another registration, nothing was imported. "
+                        + "Please retry.");
+            }
+        }
+
+        List<UserImportRowResult> results = rows.stream()
+                .map(row -> new UserImportRowResult(row.rowNumber,
+                        row.request != null ? row.request.getUsername() : null, row.pending(),
+                        row.userId, row.pending() ? "Created" : row.error))
+                .toList();
+        int created = (int) results.stream().filter(UserImportRowResult::isCreated).count();
+        return new UserImportReport(rows.size(), created, rows.size() - created, results);
+    }
+
+    private void validate(List<Row> rows) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Row row : rows) {
+            if (!row.pending()) {
+                continue;
+            }
+            Set<ConstraintViolation<UserRegistrationRequest>> violations = validator.validate(row.request);
+            if (!violations.isEmpty()) {
+                row.error = violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+            } else if (!usernames.add(row.request.getUsername().toLowerCase(Locale.ROOT))) {
+                row.error = "Duplicate username in import";
+            } else if (!emails.add(row.request.getEmail().toLowerCase(Locale.ROOT))) {
+                row.error = "Duplicate email in import";
+            }
+        }
+    }
+
+    private void rejectExisting(List<Row> rows) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        rows.stream().filter(Row::pending).forEach(row -> {
+            usernames.add(row.request.getUsername());
+            emails.add(row.request.getEmail());
+        });
+        if (usernames.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserIdentity identity : userRepository.findIdentities(usernames, emails)) {
+            takenUsernames.add(identity.getUsername().toLowerCase(Locale.ROOT));
+            takenEmails.add(identity.getEmail().toLowerCase(Locale.ROOT));
+        }
+        for (Row row : rows) {
+            if (!row.pending()) {
+                continue;
+            }
+            if (takenUsernames.contains(row.request.getUsername().toLowerCase(Locale.ROOT))) {
+                row.error = "Username already exists";
+            } else if (takenEmails.contains(row.request.getEmail().toLowerCase(Locale.ROOT))) {
+                row.error = "Email already exists";
+            }
+        }
+    }
+
+    private void hashPasswords(List<Row> rows) {
+        List<Row> pending = rows.stream().filter(Row::pending).toList();
+        List<String> passwords = pending.stream().map(row -> row.request.getPassword()).toList();
+        List<String> hashes = passwordEncoder instanceof OffloadingPasswordEncoder offloading
+                ? offloading.encodeAll(passwords)
+                : passwords.stream().map(passwordEncoder::encode).toList();
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).passwordHash = hashes.get(i);
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        batchUpdate(INSERT_USER, rows.stream().map(row -> (SqlParameterSource) new MapSqlParameterSource()
+                .addValue("username", row.request.getUsername())
+                .addValue("email", row.request.getEmail())
+                .addValue("password", row.passwordHash)
+                .addValue("firstName", row.request.getFirstName())
+                .addValue("lastName", row.request.getLastName())
+                .addValue("role", row.request.getRole().name())
+                .addValue("phoneNumber", row.request.getPhoneNumber())
+                .addValue("now", now)).toList());
+
+        // Batched inserts do not return keys portably, so read them back by username
+        Map<String, Long> ids = new HashMap<>();
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<String> usernames = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)).stream()
+                    .map(row -> row.request.getUsername()).toList();
+            jdbcTemplate.query("SELECT id, username FROM users WHERE username IN (:usernames)",
+                    new MapSqlParameterSource("usernames", usernames),
+                    rs -> {
+                        ids.put(rs.getString("username").toLowerCase(Locale.ROOT), rs.getLong("id"));
+                    });
+        }
+        rows.forEach(row -> row.userId = ids.get(row.request.getUsername().toLowerCase(Locale.ROOT)));
+
+        LocalDate today = LocalDate.now();
+        List<SqlParameterSource> students = new ArrayList<>();
+        List<SqlParameterSource> trainers = new ArrayList<>();
+        for (Row row : rows) {
+            UserRegistrationRequest request = row.request;
+            if (request.getRole() == Role.STUDENT) {
+                students.add(new MapSqlParameterSource()
+                        .addValue("userId", row.userId)
+                        .addValue("studentId", idAllocator.nextStudentId())
+                        .addValue("dateOfBirth", request.getDateOfBirth())
+                        .addValue("address", request.getAddress())
+                        .addValue("emergencyContact", request.getEmergencyContact())
+                        .addValue("enrolledCourse",
+                                request.getEnrolledCourse() != null ? request.getEnrolledCourse().name() : null)
+                        .addValue("qualification", request.getQualification())
+                        .addValue("today", today));
+            } else if (request.getRole() == Role.TRAINER) {
+                trainers.add(new MapSqlParameterSource()
+                        .addValue("userId", row.userId)
+                        .addValue("trainerId", idAllocator.nextTrainerId())
+                        .addValue("specialization", request.getSpecialization())
+                        .addValue("qualifications", request.getQualifications())
+                        .addValue("experienceYears", request.getExperienceYears())
+                        .addValue("certification", request.getCertification())
+                        .addValue("today", today));
+            }
+        }
+        batchUpdate(INSERT_STUDENT, students);
+        batchUpdate(INSERT_TRAINER, trainers);
+
+        // JDBC writes bypass the entity listeners, so announce them here; listeners run after commit.
+        // One event per user is enough: listeners reload a user together with its student or trainer
+        // profile, and an event without an id would force a full directory rebuild.
+        rows.forEach(row -> eventPublisher.publishEvent(new DomainWriteEvent(Domain.USER, WriteType.CREATED,
+                row.userId)));
+    }
+
+    private void batchUpdate(String sql, List<SqlParameterSource> batch) {
+        for (int from = 0; from < batch.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql,
+                    batch.subList(from, Math.min(batch.size(), from + BATCH_SIZE)).toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    private static void bind(Map<String, String> record, UserRegistrationRequest request) {
+        request.setUsername(text(record, "username"));
+        request.setEmail(text(record, "email"));
+        request.setPassword(text(record, "password"));
+        request.setFirstName(text(record, "firstName"));
+        request.setLastName(text(record, "lastName"));
+        request.setRole(parse(record, "role", value -> Role.valueOf(value.toUpperCase(Locale.ROOT))));
+        request.setPhoneNumber(text(record, "phoneNumber"));
+        request.setDateOfBirth(parse(record, "dateOfBirth", LocalDate::parse));
+        request.setAddress(text(record, "address"));
+        request.setEmergencyContact(text(record, "emergencyContact"));
+        request.setEnrolledCourse(parse(record, "enrolledCourse",
+                value -> CourseType.valueOf(value.toUpperCase(Locale.ROOT))));
+        request.setQualification(text(record, "qualification"));
+        request.setSpecialization(text(record, "specialization"));
+        request.setQualifications(text(record, "qualifications"));
+        request.setExperienceYears(parse(record, "experienceYears", Integer::valueOf));
+        request.setCertification(text(record, "certification"));
+    }
+
+    private static String text(Map<String, String> record, String column) {
+        String value = record.get(column);
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    private static <T> T parse(Map<String, String> record, String column,
+            Function<String, T> parser) {
+        String value = text(record, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+}
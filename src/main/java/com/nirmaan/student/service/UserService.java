@@ -1,6 +1,9 @@
 package com.nirmaan.student.service;
 
+import com.nirmaan.student.cache.RowCountCache;
+import com.nirmaan.student.dto.ListingPage;
 import com.nirmaan.student.dto.UserRegistrationRequest;
+import com.nirmaan.student.dto.UserSummary;
 import com.nirmaan.student.entity.User;
 import com.nirmaan.student.entity.Student;
 import com.nirmaan.student.entity.Trainer;
@@ -10,7 +13,10 @@ import com.nirmaan.student.repository.UserRepository;
 import com.nirmaan.student.repository.StudentRepository;
 import com.nirmaan.student.repository.TrainerRepository;
 import com.nirmaan.student.security.UserPrincipal;
+import com.nirmaan.student.util.PageRequests;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -20,16 +26,23 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
 
+	private static final Map<String, String> USER_SORTS = Map.of("id", "u.id", "username", "u.username",
+			"email", "u.email", "firstName", "u.firstName", "lastName", "u.lastName", "role", "u.role",
+			"createdAt", "u.createdAt");
+
 	private final UserRepository userRepository;
 	private final StudentRepository studentRepository;
 	private final TrainerRepository trainerRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final IdAllocator idAllocator;
+	private final RowCountCache rowCountCache;
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -71,7 +84,7 @@ public class UserService implements UserDetailsService {
 	private void createStudentProfile(User user, UserRegistrationRequest request) {
 		Student student = new Student();
 		student.setUser(user);
-		student.setStudentId("STD" + System.currentTimeMillis());
+		student.setStudentId(idAllocator.nextStudentId());
 		student.setDateOfBirth(request.getDateOfBirth());
 		student.setAddress(request.getAddress());
 		student.setEmergencyContact(request.getEmergencyContact());
@@ -84,7 +97,7 @@ public class UserService implements UserDetailsService {
 	private void createTrainerProfile(User user, UserRegistrationRequest request) {
 		Trainer trainer = new Trainer();
 		trainer.setUser(user);
-		trainer.setTrainerId("TRN" + System.currentTimeMillis());
+		trainer.setTrainerId(idAllocator.nextTrainerId());
 		trainer.setSpecialization(request.getSpecialization());
 		trainer.setQualifications(request.getQualifications());
 		trainer.setExperienceYears(request.getExperienceYears());
@@ -100,4 +113,11 @@ public class UserService implements UserDetailsService {
 	public List<User> getUsersByRole(Role role) {
 		return userRepository.findByRole(role);
 	}
+
+	public ListingPage<UserSummary> listUsers(Role role, int page, int size, String sort, boolean approximateCount) {
+		Pageable pageable = PageRequests.of(page, size, sort, USER_SORTS, "u.id");
+		Slice<UserSummary> slice = userRepository.findSummaries(role, pageable);
+		return rowCountCache.page("users:" + role, slice, approximateCount,
+				() -> role != null ? userRepository.countByRole(role) : userRepository.count());
+	}
 }
\ No newline at end of file
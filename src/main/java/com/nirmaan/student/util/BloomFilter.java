@@ -0,0 +1,73 @@
+package com.nirmaan.student.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings. Hashing walks the characters directly and bits
+ * are set with CAS, so both {@link #put} and {@link #mightContain} are
+ * lock-free and allocate nothing. False positives occur at roughly the
+ * configured rate once {@code expectedInsertions} items are added; there are
+ * never false negatives.
+ */
+public class BloomFilter {
+
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+
+	public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+		if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("Invalid Bloom filter sizing");
+		}
+		long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+		this.bitCount = words.length() * 64L;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+	}
+
+	public void put(CharSequence item) {
+		long hash1 = hash(item, 0xcbf29ce484222325L);
+		long hash2 = mix(hash1) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current = words.get(word);
+			while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+				current = words.get(word);
+			}
+		}
+	}
+
+	public boolean mightContain(CharSequence item) {
+		long hash1 = hash(item, 0xcbf29ce484222325L);
+		long hash2 = mix(hash1) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// FNV-1a over UTF-16 units
+	private static long hash(CharSequence item, long seed) {
+		long hash = seed;
+		for (int i = 0; i < item.length(); i++) {
+			hash ^= item.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+
+	// MurmurHash3 finalizer, spreads FNV's weak low bits
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
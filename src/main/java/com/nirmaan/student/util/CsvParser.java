@@ -0,0 +1,78 @@
+package com.nirmaan.student.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, double-quoted fields may contain
+ * commas, quotes ("") and line breaks. The first record is the header; each
+ * following record becomes a map from header name to value.
+ */
+public final class CsvParser {
+
+	private CsvParser() {
+	}
+
+	public static List<Map<String, String>> parse(String text) {
+		List<List<String>> records = records(text);
+		List<Map<String, String>> rows = new ArrayList<>();
+		if (records.isEmpty()) {
+			return rows;
+		}
+		List<String> header = records.get(0).stream().map(String::strip).toList();
+		for (List<String> record : records.subList(1, records.size())) {
+			if (record.size() == 1 && record.get(0).isBlank()) {
+				continue;
+			}
+			Map<String, String> row = new LinkedHashMap<>();
+			for (int i = 0; i < header.size(); i++) {
+				row.put(header.get(i), i < record.size() ? record.get(i) : "");
+			}
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	private static List<List<String>> records(String text) {
+		List<List<String>> records = new ArrayList<>();
+		List<String> record = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		int i = text.startsWith("\uFEFF") ? 1 : 0;
+		for (; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				record.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\n' || c == '\r') {
+				if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+					i++;
+				}
+				record.add(field.toString());
+				field.setLength(0);
+				records.add(record);
+				record = new ArrayList<>();
+			} else {
+				field.append(c);
+			}
+		}
+		if (field.length() > 0 || !record.isEmpty()) {
+			record.add(field.toString());
+			records.add(record);
+		}
+		return records;
+	}
+}
@@ -0,0 +1,86 @@
+package com.nirmaan.student.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Size-bounded map whose entries also expire a fixed time after they were
+ * written. Least recently used entries are dropped first once full. All
+ * operations are synchronized; expired entries are removed lazily on access.
+ */
+public class ExpiringLruCache<K, V> {
+
+	private record Timed<V>(V value, long expiresAt) {
+	}
+
+	private final LinkedHashMap<K, Timed<V>> entries;
+	private final long ttlNanos;
+
+	public ExpiringLruCache(int maxSize, long ttl, TimeUnit unit) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Max size must be positive");
+		}
+		this.ttlNanos = unit.toNanos(ttl);
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Timed<V>> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	public synchronized V get(K key) {
+		Timed<V> timed = entries.get(key);
+		if (timed == null) {
+			return null;
+		}
+		if (System.nanoTime() - timed.expiresAt() >= 0) {
+			entries.remove(key);
+			return null;
+		}
+		return timed.value();
+	}
+
+	public synchronized void put(K key, V value) {
+		entries.put(key, new Timed<>(value, System.nanoTime() + ttlNanos));
+	}
+
+	/**
+	 * Stores {@code value} unless a live entry exists.
+	 *
+	 * @return the existing live value, or null if {@code value} was stored
+	 */
+	public synchronized V putIfAbsent(K key, V value) {
+		V existing = get(key);
+		if (existing != null) {
+			return existing;
+		}
+		put(key, value);
+		return null;
+	}
+
+	public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+		V existing = get(key);
+		if (existing != null) {
+			return existing;
+		}
+		V value = loader.apply(key);
+		put(key, value);
+		return value;
+	}
+
+	public synchronized V remove(K key) {
+		Timed<V> timed = entries.remove(key);
+		return timed != null ? timed.value() : null;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+}
@@ -0,0 +1,59 @@
+package com.nirmaan.student.util;
+
+import com.nirmaan.student.exception.ValidationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Builds page requests for listing endpoints from a {@code field,direction}
+ * sort parameter. Only fields in the endpoint's whitelist are accepted, each
+ * mapped to the query path it orders by, so clients cannot sort on
+ * unindexed or hidden columns. The id is always the final tie-breaker, which
+ * keeps row order stable from page to page.
+ */
+public final class PageRequests {
+
+	public static final int MAX_PAGE_SIZE = 100;
+
+	private PageRequests() {
+	}
+
+	public static Pageable of(int page, int size, String sort, Map<String, String> sortable, String idPath) {
+		if (page < 0) {
+			throw new ValidationException("Page must not be negative");
+		}
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new ValidationException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+
+		Sort order = JpaSort.unsafe(Sort.Direction.ASC, idPath);
+		if (sort != null && !sort.isBlank()) {
+			String[] parts = sort.split(",");
+			String path = sortable.get(parts[0].trim());
+			if (path == null || parts.length > 2) {
+				throw new ValidationException("Sort must be one of " + new TreeSet<>(sortable.keySet())
+						+ ", optionally followed by ,asc or ,desc");
+			}
+			Sort.Direction direction = Sort.Direction.ASC;
+			if (parts.length == 2) {
+				String value = parts[1].trim().toUpperCase(Locale.ROOT);
+				if (!value.equals("ASC") && !value.equals("DESC")) {
+					throw new ValidationException("Sort direction must be asc or desc");
+				}
+				direction = Sort.Direction.valueOf(value);
+			}
+			if (!path.equals(idPath)) {
+				order = JpaSort.unsafe(direction, path).and(order);
+			} else {
+				order = JpaSort.unsafe(direction, idPath);
+			}
+		}
+		return PageRequest.of(page, size, order);
+	}
+}
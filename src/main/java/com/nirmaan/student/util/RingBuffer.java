@@ -0,0 +1,85 @@
+package com.nirmaan.student.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Fixed-capacity buffer that overwrites its oldest element once full. All
+ * operations are synchronized; they are O(capacity) at worst and meant for
+ * small capacities.
+ */
+public class RingBuffer<T> {
+
+	private final Object[] items;
+	private int next;
+	private int size;
+
+	public RingBuffer(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.items = new Object[capacity];
+	}
+
+	public int capacity() {
+		return items.length;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public synchronized void add(T item) {
+		items[next] = item;
+		next = (next + 1) % items.length;
+		if (size < items.length) {
+			size++;
+		}
+	}
+
+	public synchronized boolean contains(Predicate<T> predicate) {
+		for (int i = 0; i < size; i++) {
+			if (predicate.test(get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public synchronized List<T> newestFirst(int limit) {
+		int count = Math.min(limit, size);
+		List<T> result = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			result.add(get(i));
+		}
+		return result;
+	}
+
+	public synchronized void replaceAll(Predicate<T> predicate, UnaryOperator<T> replacement) {
+		for (int i = 0; i < size; i++) {
+			T item = get(i);
+			if (predicate.test(item)) {
+				items[index(i)] = replacement.apply(item);
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		Arrays.fill(items, null);
+		next = 0;
+		size = 0;
+	}
+
+	// i = 0 is the newest element
+	@SuppressWarnings("unchecked")
+	private T get(int i) {
+		return (T) items[index(i)];
+	}
+
+	private int index(int i) {
+		return Math.floorMod(next - 1 - i, items.length);
+	}
+}
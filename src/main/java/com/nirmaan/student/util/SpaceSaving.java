@@ -0,0 +1,96 @@
+package com.nirmaan.student.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy-hitter summary (Metwally et al.). Tracks at most
+ * {@code capacity} items; when a new item arrives and the summary is full it
+ * takes over the smallest counter, inheriting its count as error. Any item
+ * whose true frequency exceeds n / capacity is guaranteed to be present, and a
+ * reported count overestimates the truth by at most its error.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class SpaceSaving<T> {
+
+	public record Estimate<T>(T item, long count, long error) {
+	}
+
+	private static final class Counter<T> {
+		private final T item;
+		private long count;
+		private long error;
+		private long sequence;
+
+		private Counter(T item, long count, long error, long sequence) {
+			this.item = item;
+			this.count = count;
+			this.error = error;
+			this.sequence = sequence;
+		}
+	}
+
+	// Smallest count first; among ties the least recently touched goes first
+	private final TreeSet<Counter<T>> byCount = new TreeSet<>(Comparator.<Counter<T>>comparingLong(c -> c.count)
+			.thenComparingLong(c -> c.sequence));
+	private final Map<T, Counter<T>> counters = new HashMap<>();
+	private final int capacity;
+	private long sequence;
+
+	public SpaceSaving(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive");
+		}
+		this.capacity = capacity;
+	}
+
+	public void offer(T item) {
+		offer(item, 1);
+	}
+
+	public void offer(T item, long increment) {
+		Counter<T> counter = counters.get(item);
+		if (counter != null) {
+			byCount.remove(counter);
+			counter.count += increment;
+			counter.sequence = sequence++;
+			byCount.add(counter);
+			return;
+		}
+
+		if (counters.size() < capacity) {
+			counter = new Counter<>(item, increment, 0, sequence++);
+		} else {
+			Counter<T> evicted = byCount.pollFirst();
+			counters.remove(evicted.item);
+			counter = new Counter<>(item, evicted.count + increment, evicted.count, sequence++);
+		}
+		counters.put(item, counter);
+		byCount.add(counter);
+	}
+
+	/**
+	 * All tracked items, highest count first.
+	 */
+	public List<Estimate<T>> estimates() {
+		List<Estimate<T>> estimates = new ArrayList<>(counters.size());
+		for (Counter<T> counter : byCount.descendingSet()) {
+			estimates.add(new Estimate<>(counter.item, counter.count, counter.error));
+		}
+		return estimates;
+	}
+
+	public int size() {
+		return counters.size();
+	}
+
+	public void clear() {
+		counters.clear();
+		byCount.clear();
+	}
+}
@@ -0,0 +1,88 @@
+package com.nirmaan.student.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns free text into index terms: lower-cases, splits on anything that is not
+ * a letter or digit, drops stop words and strips common English suffixes so
+ * that "projectors" and "projector" meet on the same term.
+ */
+public final class TextAnalyzer {
+
+	private static final int MIN_TERM_LENGTH = 2;
+
+	private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "but", "by",
+			"for", "if", "in", "into", "is", "it", "its", "of", "on", "or", "so", "such", "that", "the", "their",
+			"then", "there", "these", "they", "this", "to", "was", "were", "will", "with", "i", "me", "my", "we",
+			"our", "you", "your", "he", "she", "him", "her", "his", "them", "been", "being", "have", "has", "had",
+			"do", "does", "did", "am", "from", "all", "any", "some", "very", "just", "also", "than", "about", "what",
+			"which", "who", "when", "where", "how");
+
+	private TextAnalyzer() {
+	}
+
+	public static List<String> analyze(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null || text.isEmpty()) {
+			return terms;
+		}
+
+		String lower = text.toLowerCase(Locale.ROOT);
+		int start = -1;
+		for (int i = 0; i <= lower.length(); i++) {
+			boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				String token = lower.substring(start, i);
+				if (token.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(token)) {
+					terms.add(stem(token));
+				}
+				start = -1;
+			}
+		}
+		return terms;
+	}
+
+	/**
+	 * A deliberately small suffix stripper (plural, -ing, -ed, -ly). It is not a
+	 * full Porter stemmer, but it is predictable and applied identically to
+	 * documents and queries, which is all ranking needs.
+	 */
+	static String stem(String token) {
+		if (token.length() <= 3 || Character.isDigit(token.charAt(0))) {
+			return token;
+		}
+		if (token.endsWith("ies") && token.length() > 4) {
+			return token.substring(0, token.length() - 3) + "y";
+		}
+		if (token.endsWith("sses")) {
+			return token.substring(0, token.length() - 2);
+		}
+		if (token.endsWith("ing") && token.length() > 5) {
+			return undouble(token.substring(0, token.length() - 3));
+		}
+		if (token.endsWith("ed") && token.length() > 4) {
+			return undouble(token.substring(0, token.length() - 2));
+		}
+		if (token.endsWith("ly") && token.length() > 4) {
+			return token.substring(0, token.length() - 2);
+		}
+		if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us") && !token.endsWith("is")) {
+			return token.substring(0, token.length() - 1);
+		}
+		return token;
+	}
+
+	// "running" -> "runn" -> "run"
+	private static String undouble(String stem) {
+		int n = stem.length();
+		if (n >= 3 && stem.charAt(n - 1) == stem.charAt(n - 2) && "lsz".indexOf(stem.charAt(n - 1)) < 0) {
+			return stem.substring(0, n - 1);
+		}
+		return stem;
+	}
+}
@@ -0,0 +1,71 @@
+package com.nirmaan.student.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as GCRA (generic cell rate algorithm).
+ * The whole state is one "theoretical arrival time" in an AtomicLong, so a
+ * bucket costs a few dozen bytes and acquiring is a single CAS.
+ */
+public class TokenBucket {
+
+	private final long emissionIntervalNanos;
+	private final long toleranceNanos;
+	private final AtomicLong theoreticalArrival;
+
+	/**
+	 * @param capacity maximum burst size
+	 * @param tokens   tokens refilled per {@code period}
+	 */
+	public TokenBucket(int capacity, int tokens, long period, TimeUnit unit) {
+		if (capacity < 1 || tokens < 1) {
+			throw new IllegalArgumentException("Capacity and refill must be positive");
+		}
+		this.emissionIntervalNanos = Math.max(1, unit.toNanos(period) / tokens);
+		this.toleranceNanos = emissionIntervalNanos * (capacity - 1);
+		this.theoreticalArrival = new AtomicLong(System.nanoTime());
+	}
+
+	/**
+	 * Takes one token if available.
+	 *
+	 * @return 0 when a token was taken, otherwise the nanoseconds until one is
+	 */
+	public long tryAcquire() {
+		while (true) {
+			long now = System.nanoTime();
+			long tat = theoreticalArrival.get();
+			long allowAt = tat - toleranceNanos;
+			if (now - allowAt < 0) {
+				return allowAt - now;
+			}
+			long next = (tat - now > 0 ? tat : now) + emissionIntervalNanos;
+			if (theoreticalArrival.compareAndSet(tat, next)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * True when the bucket has refilled completely, i.e. it behaves exactly
+	 * like a newly created one and can be discarded without changing any
+	 * outcome.
+	 */
+	public boolean isFull() {
+		return System.nanoTime() - theoreticalArrival.get() >= 0;
+	}
+
+	/**
+	 * Tokens that could be taken right now without waiting.
+	 */
+	public long available() {
+		long now = System.nanoTime();
+		long tat = theoreticalArrival.get();
+		long headroom = now + toleranceNanos - tat;
+		if (headroom < 0) {
+			return 0;
+		}
+		return Math.min(headroom / emissionIntervalNanos + 1, toleranceNanos / emissionIntervalNanos + 1);
+	}
+}
@@ -0,0 +1,27 @@
+package com.nirmaan.student.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtils {
+
+	private TransactionUtils() {
+	}
+
+	/**
+	 * Runs {@code action} once the current transaction commits, or immediately
+	 * when there is none. Rolled-back work never reaches in-memory structures.
+	 */
+	public static void runAfterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.nirmaan.student.search;
+
+import com.nirmaan.student.search.DirectoryIndex.Document;
+import com.nirmaan.student.search.DirectoryIndex.Hit;
+import com.nirmaan.student.search.DirectoryIndex.Kind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectoryIndexTest {
+
+    private DirectoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DirectoryIndex();
+        index.put(new Document(Kind.STUDENT, 1L, "Ann Lee", "STD1", true, List.of("annlee", "STD1")));
+        index.put(new Document(Kind.STUDENT, 2L, "Anna Smith", "STD2", true, List.of("asmith", "STD2")));
+        index.put(new Document(Kind.TRAINER, 3L, "Brian Annand", "TRN1", true, List.of("bannand")));
+        index.put(new Document(Kind.COURSE, 4L, "Analytics", "ITES", true, List.of("ITES")));
+    }
+
+    @Test
+    void matchesPrefixesAndRanksCloserAndTitleMatchesFirst() {
+        List<Hit> hits = index.search("ann", Set.of(), 10);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void everyWordMustMatch() {
+        assertEquals(List.of(2L), ids(index.search("ann smi", Set.of(), 10)));
+        assertTrue(index.search("ann zzz", Set.of(), 10).isEmpty());
+    }
+
+    @Test
+    void matchesExtraFieldsCaseInsensitively() {
+        assertEquals(List.of(2L), ids(index.search("std2", Set.of(), 10)));
+        assertEquals(List.of(4L), ids(index.search("ITES", Set.of(), 10)));
+    }
+
+    @Test
+    void filtersByKindAndHonoursLimit() {
+        assertEquals(List.of(3L), ids(index.search("ann", EnumSet.of(Kind.TRAINER), 10)));
+        assertEquals(List.of(1L), ids(index.search("ann", Set.of(), 1)));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsAnEntry() {
+        index.put(new Document(Kind.STUDENT, 1L, "Zoe Lee", "STD1", true, List.of("zlee")));
+        assertEquals(List.of(2L, 3L), ids(index.search("ann", Set.of(), 10)));
+        assertEquals(List.of(1L), ids(index.search("zoe", Set.of(), 10)));
+
+        index.remove(Kind.STUDENT, 1L);
+        assertTrue(index.search("zoe", Set.of(), 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void replaceAllDropsEntriesNotInTheNewSet() {
+        index.replaceAll(List.of(new Document(Kind.BATCH, 9L, "Morning Batch", "Analytics", false, List.of())));
+
+        assertEquals(1, index.size());
+        assertTrue(index.search("ann", Set.of(), 10).isEmpty());
+        Hit hit = index.search("morn", Set.of(), 10).get(0);
+        assertEquals(Kind.BATCH, hit.kind());
+        assertEquals("Analytics", hit.subtitle());
+    }
+
+    @Test
+    void stopsEarlyWithoutLosingTheBestMatches() {
+        List<Document> documents = new ArrayList<>();
+        for (long i = 0; i < 5_000; i++) {
+            documents.add(new Document(Kind.USER, i, "Person " + i, null, true, List.of("user" + i)));
+        }
+        documents.add(new Document(Kind.USER, 99_999L, "Pe", null, true, List.of()));
+        index.replaceAll(documents);
+
+        List<Hit> hits = index.search("pe", Set.of(), 3);
+        assertEquals(3, hits.size());
+        assertEquals(99_999L, hits.get(0).id());
+    }
+
+    @Test
+    void tokenizeSplitsOnNonAlphanumerics() {
+        assertEquals(List.of("o", "brien", "std20260000001"), DirectoryIndex.tokenize("O'Brien, STD20260000001"));
+        assertTrue(DirectoryIndex.tokenize(null).isEmpty());
+    }
+
+    private static List<Long> ids(List<Hit> hits) {
+        return hits.stream().map(Hit::id).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.nirmaan.student.security;
+
+import com.nirmaan.student.entity.User;
+import com.nirmaan.student.enums.Role;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Access-token validations per second: a full verification against a hit in
+ * the verified-token cache. Not run by the test suite; start it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.nirmaan.student.security.JwtTokenProviderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "nirmaan_student_management_jwt_secret_key_2025_secure_token_12345";
+
+    private JwtTokenProvider uncached;
+    private JwtTokenProvider cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = provider(0);
+        cached = provider(10_000);
+
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("bench.trainer");
+        user.setRole(Role.TRAINER);
+        token = cached.generateToken(new UserPrincipal(user), new CallerContext(42L, Role.TRAINER, null, 7L));
+        cached.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims coldParse() {
+        return uncached.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims cacheHit() {
+        return cached.parseClaims(token);
+    }
+
+    private static JwtTokenProvider provider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtTokenProviderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
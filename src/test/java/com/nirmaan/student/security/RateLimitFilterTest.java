@@ -0,0 +1,71 @@
+package com.nirmaan.student.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+    private static final int LOGIN_BURST = 20;
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(new ObjectMapper(), LOGIN_BURST, 60, 5, 10, 300, 600, 3, 6, 300, 600);
+    }
+
+    @Test
+    void throttlesAnIpOnceItsBurstIsSpent() throws Exception {
+        for (int i = 0; i < LOGIN_BURST; i++) {
+            assertEquals(200, login("10.0.0.1").getStatus());
+        }
+        MockHttpServletResponse rejected = login("10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("0", rejected.getHeader("X-RateLimit-Remaining"));
+        assertEquals(200, login("10.0.0.2").getStatus());
+    }
+
+    @Test
+    void leavesOtherEndpointsAndMethodsAlone() throws Exception {
+        for (int i = 0; i <= LOGIN_BURST; i++) {
+            login("10.0.0.1");
+        }
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/auth/login");
+        get.setRemoteAddr("10.0.0.1");
+        assertEquals(200, send(get).getStatus());
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/courses");
+        other.setRemoteAddr("10.0.0.1");
+        assertEquals(200, send(other).getStatus());
+    }
+
+    @Test
+    void stillThrottlesANewKeyOnceTheMapIsFullOfActiveBuckets() throws Exception {
+        // One request each leaves every bucket part-drained, so the sweep cannot free any
+        for (int i = 0; i < RateLimitFilter.MAX_TRACKED; i++) {
+            login("10.1." + (i >> 8) + "." + (i & 0xff));
+        }
+
+        for (int i = 0; i < LOGIN_BURST; i++) {
+            assertEquals(200, login("192.168.0.1").getStatus());
+        }
+        assertEquals(429, login("192.168.0.1").getStatus());
+    }
+
+    private MockHttpServletResponse login(String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(ip);
+        return send(request);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
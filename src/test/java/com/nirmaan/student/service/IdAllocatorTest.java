@@ -0,0 +1,122 @@
+package com.nirmaan.student.service;
+
+import com.nirmaan.student.entity.IdSequence;
+import com.nirmaan.student.repository.IdSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Year;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdAllocatorTest {
+
+    private static final String YEAR = String.valueOf(Year.now().getValue());
+
+    private IdSequenceRepository repository;
+    private IdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdSequenceRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.findForUpdate(anyString())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdSequence.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        allocator = new IdAllocator(repository, transactionManager, 3);
+    }
+
+    @Test
+    void servesSequentialIdsAndReservesOneBlockAtATime() {
+        IdSequence row = new IdSequence("STD" + YEAR, 1);
+        when(repository.findForUpdate("STD" + YEAR)).thenReturn(Optional.of(row));
+
+        List<String> ids = IntStream.range(0, 4).mapToObj(i -> allocator.nextStudentId()).toList();
+
+        assertEquals(List.of("STD" + YEAR + "0000001", "STD" + YEAR + "0000002",
+                "STD" + YEAR + "0000003", "STD" + YEAR + "0000004"), ids);
+        verify(repository, times(2)).findForUpdate("STD" + YEAR);
+        assertEquals(7, row.getNextValue());
+    }
+
+    @Test
+    void createsTheCounterRowOnFirstUse() {
+        assertEquals("TRN" + YEAR + "0000001", allocator.nextTrainerId());
+
+        verify(repository).saveAndFlush(any(IdSequence.class));
+    }
+
+    @Test
+    void keepsAnIndependentCounterPerPrefix() {
+        when(repository.findForUpdate("STD" + YEAR)).thenReturn(Optional.of(new IdSequence("STD" + YEAR, 40)));
+        when(repository.findForUpdate("TRN" + YEAR)).thenReturn(Optional.of(new IdSequence("TRN" + YEAR, 7)));
+
+        assertEquals("STD" + YEAR + "0000040", allocator.nextStudentId());
+        assertEquals("TRN" + YEAR + "0000007", allocator.nextTrainerId());
+        assertEquals("STD" + YEAR + "0000041", allocator.nextStudentId());
+    }
+
+    @Test
+    void retriesOnceWhenAnotherServerCreatesTheRowFirst() {
+        IdSequence created = new IdSequence("STD" + YEAR, 101);
+        when(repository.findForUpdate("STD" + YEAR)).thenReturn(Optional.empty(), Optional.of(created));
+        when(repository.saveAndFlush(any(IdSequence.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertEquals("STD" + YEAR + "0000101", allocator.nextStudentId());
+        assertEquals(104, created.getNextValue());
+    }
+
+    @Test
+    void givesUpAfterTheSecondConflict() {
+        when(repository.saveAndFlush(any(IdSequence.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThrows(DataIntegrityViolationException.class, allocator::nextStudentId);
+        verify(repository, times(2)).saveAndFlush(any(IdSequence.class));
+    }
+
+    @Test
+    void refusesToOverflowTheSevenDigitCounter() {
+        when(repository.findForUpdate("STD" + YEAR)).thenReturn(Optional.of(new IdSequence("STD" + YEAR, 9_999_999)));
+
+        assertEquals("STD" + YEAR + "9999999", allocator.nextStudentId());
+        assertThrows(IllegalStateException.class, allocator::nextStudentId);
+    }
+
+    @Test
+    void neverHandsOutTheSameIdTwiceUnderContention() throws Exception {
+        IdSequence row = new IdSequence("STD" + YEAR, 1);
+        when(repository.findForUpdate("STD" + YEAR)).thenReturn(Optional.of(row));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> tasks = IntStream.range(0, 500)
+                    .mapToObj(i -> (Callable<String>) allocator::nextStudentId).toList();
+            Set<String> ids = new HashSet<>();
+            for (Future<String> future : executor.invokeAll(tasks)) {
+                ids.add(future.get());
+            }
+            assertEquals(500, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.nirmaan.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvParserTest {
+
+	@Test
+	void mapsRecordsByHeader() {
+		List<Map<String, String>> rows = CsvParser.parse("username, email\nann,ann@x.com\nbob,bob@x.com\n");
+
+		assertEquals(List.of(Map.of("username", "ann", "email", "ann@x.com"),
+				Map.of("username", "bob", "email", "bob@x.com")), rows);
+	}
+
+	@Test
+	void quotedFieldsKeepCommasQuotesAndLineBreaks() {
+		List<Map<String, String>> rows = CsvParser.parse(
+				"name,address\n\"Lee, Ann\",\"12 \"\"Main\"\" St\nFlat 2\"\n");
+
+		assertEquals(1, rows.size());
+		assertEquals("Lee, Ann", rows.get(0).get("name"));
+		assertEquals("12 \"Main\" St\nFlat 2", rows.get(0).get("address"));
+	}
+
+	@Test
+	void handlesCrlfBomMissingTrailingNewlineAndBlankLines() {
+		List<Map<String, String>> rows = CsvParser.parse("\uFEFFa,b\r\n1,2\r\n\r\n3,4");
+
+		assertEquals(List.of(Map.of("a", "1", "b", "2"), Map.of("a", "3", "b", "4")), rows);
+	}
+
+	@Test
+	void shortRecordsArePaddedWithEmptyValues() {
+		List<Map<String, String>> rows = CsvParser.parse("a,b,c\n1\n");
+
+		assertEquals(Map.of("a", "1", "b", "", "c", ""), rows.get(0));
+	}
+
+	@Test
+	void emptyInputOrHeaderOnlyHasNoRows() {
+		assertTrue(CsvParser.parse("").isEmpty());
+		assertTrue(CsvParser.parse("a,b\n").isEmpty());
+	}
+}
@@ -0,0 +1,76 @@
+package com.nirmaan.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpiringLruCacheTest {
+
+	@Test
+	void evictsLeastRecentlyUsedWhenFull() {
+		ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, 1, TimeUnit.HOURS);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.get("a");
+		cache.put("c", 3);
+
+		assertEquals(1, cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals(3, cache.get("c"));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	void entriesExpireAfterTtl() throws InterruptedException {
+		ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 20, TimeUnit.MILLISECONDS);
+		cache.put("a", 1);
+		assertEquals(1, cache.get("a"));
+
+		Thread.sleep(40);
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void putIfAbsentKeepsLiveEntryButReplacesExpiredOne() throws InterruptedException {
+		ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 20, TimeUnit.MILLISECONDS);
+
+		assertNull(cache.putIfAbsent("a", 1));
+		assertEquals(1, cache.putIfAbsent("a", 2));
+		Thread.sleep(40);
+		assertNull(cache.putIfAbsent("a", 3));
+		assertEquals(3, cache.get("a"));
+	}
+
+	@Test
+	void computeIfAbsentLoadsOnlyOnMiss() {
+		ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 1, TimeUnit.HOURS);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals(7, cache.computeIfAbsent("a", k -> 7 + loads.getAndIncrement()));
+		assertEquals(7, cache.computeIfAbsent("a", k -> 7 + loads.getAndIncrement()));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void removeAndClear() {
+		ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 1, TimeUnit.HOURS);
+		cache.put("a", 1);
+		cache.put("b", 2);
+
+		assertEquals(1, cache.remove("a"));
+		assertNull(cache.remove("a"));
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void rejectsNonPositiveSize() {
+		assertThrows(IllegalArgumentException.class, () -> new ExpiringLruCache<String, Integer>(0, 1, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,56 @@
+package com.nirmaan.student.util;
+
+import com.nirmaan.student.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageRequestsTest {
+
+	private static final Map<String, String> SORTABLE = Map.of("id", "u.id", "username", "u.username",
+			"createdAt", "u.createdAt");
+
+	@Test
+	void defaultsToIdAscending() {
+		Pageable pageable = PageRequests.of(2, 20, null, SORTABLE, "u.id");
+
+		assertEquals(2, pageable.getPageNumber());
+		assertEquals(20, pageable.getPageSize());
+		assertEquals(List.of(Sort.Order.asc("u.id")), pageable.getSort().toList());
+	}
+
+	@Test
+	void mapsSortFieldAndKeepsIdAsTieBreaker() {
+		Pageable pageable = PageRequests.of(0, 10, "createdAt, DESC", SORTABLE, "u.id");
+
+		assertEquals(List.of(Sort.Order.desc("u.createdAt"), Sort.Order.asc("u.id")), pageable.getSort().toList());
+	}
+
+	@Test
+	void sortingByIdHonoursDirectionWithoutDuplicatingIt() {
+		Pageable pageable = PageRequests.of(0, 10, "id,desc", SORTABLE, "u.id");
+
+		assertEquals(List.of(Sort.Order.desc("u.id")), pageable.getSort().toList());
+	}
+
+	@Test
+	void rejectsUnknownFieldsAndBadDirections() {
+		assertThrows(ValidationException.class, () -> PageRequests.of(0, 10, "password", SORTABLE, "u.id"));
+		assertThrows(ValidationException.class, () -> PageRequests.of(0, 10, "username,sideways", SORTABLE, "u.id"));
+		assertThrows(ValidationException.class, () -> PageRequests.of(0, 10, "username,asc,x", SORTABLE, "u.id"));
+	}
+
+	@Test
+	void rejectsOutOfRangePaging() {
+		assertThrows(ValidationException.class, () -> PageRequests.of(-1, 10, null, SORTABLE, "u.id"));
+		assertThrows(ValidationException.class, () -> PageRequests.of(0, 0, null, SORTABLE, "u.id"));
+		assertThrows(ValidationException.class,
+				() -> PageRequests.of(0, PageRequests.MAX_PAGE_SIZE + 1, null, SORTABLE, "u.id"));
+	}
+}
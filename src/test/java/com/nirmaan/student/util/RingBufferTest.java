@@ -0,0 +1,66 @@
+package com.nirmaan.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+	@Test
+	void returnsNewestFirstUpToLimit() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(5);
+		for (int i = 1; i <= 3; i++) {
+			buffer.add(i);
+		}
+
+		assertEquals(List.of(3, 2, 1), buffer.newestFirst(10));
+		assertEquals(List.of(3, 2), buffer.newestFirst(2));
+		assertEquals(3, buffer.size());
+	}
+
+	@Test
+	void overwritesOldestOnceFull() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(3);
+		for (int i = 1; i <= 5; i++) {
+			buffer.add(i);
+		}
+
+		assertEquals(3, buffer.size());
+		assertEquals(List.of(5, 4, 3), buffer.newestFirst(3));
+		assertFalse(buffer.contains(i -> i == 1));
+		assertTrue(buffer.contains(i -> i == 3));
+	}
+
+	@Test
+	void replaceAllKeepsPositions() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(3);
+		for (int i = 1; i <= 4; i++) {
+			buffer.add(i);
+		}
+		buffer.replaceAll(i -> i % 2 == 0, i -> i * 10);
+
+		assertEquals(List.of(40, 3, 20), buffer.newestFirst(3));
+	}
+
+	@Test
+	void clearEmptiesTheBuffer() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(2);
+		buffer.add(1);
+		buffer.clear();
+
+		assertEquals(0, buffer.size());
+		assertTrue(buffer.newestFirst(2).isEmpty());
+		buffer.add(2);
+		assertEquals(List.of(2), buffer.newestFirst(2));
+	}
+
+	@Test
+	void rejectsNonPositiveCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>(0));
+	}
+}
@@ -0,0 +1,72 @@
+package com.nirmaan.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingTest {
+
+	@Test
+	void countsExactlyWhileUnderCapacity() {
+		SpaceSaving<String> summary = new SpaceSaving<>(5);
+		summary.offer("a");
+		summary.offer("b");
+		summary.offer("a");
+		summary.offer("c", 4);
+
+		List<SpaceSaving.Estimate<String>> estimates = summary.estimates();
+		assertEquals(List.of(new SpaceSaving.Estimate<>("c", 4, 0), new SpaceSaving.Estimate<>("a", 2, 0),
+				new SpaceSaving.Estimate<>("b", 1, 0)), estimates);
+	}
+
+	@Test
+	void newItemTakesOverSmallestCounterAsError() {
+		SpaceSaving<String> summary = new SpaceSaving<>(2);
+		summary.offer("a", 5);
+		summary.offer("b", 2);
+		summary.offer("c");
+
+		assertEquals(2, summary.size());
+		assertEquals(List.of(new SpaceSaving.Estimate<>("a", 5, 0), new SpaceSaving.Estimate<>("c", 3, 2)),
+				summary.estimates());
+	}
+
+	@Test
+	void heavyHittersSurviveNoise() {
+		SpaceSaving<String> summary = new SpaceSaving<>(10);
+		Random random = new Random(42);
+		int heavy = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (i % 4 == 0) {
+				summary.offer("heavy");
+				heavy++;
+			} else {
+				summary.offer("noise" + random.nextInt(5_000));
+			}
+		}
+
+		SpaceSaving.Estimate<String> top = summary.estimates().get(0);
+		assertEquals("heavy", top.item());
+		assertTrue(top.count() >= heavy && top.count() - top.error() <= heavy);
+	}
+
+	@Test
+	void clearEmptiesTheSummary() {
+		SpaceSaving<String> summary = new SpaceSaving<>(3);
+		summary.offer("a");
+		summary.clear();
+
+		assertEquals(0, summary.size());
+		assertTrue(summary.estimates().isEmpty());
+	}
+
+	@Test
+	void rejectsNonPositiveCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new SpaceSaving<String>(0));
+	}
+}
@@ -0,0 +1,51 @@
+package com.nirmaan.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextAnalyzerTest {
+
+	@Test
+	void lowerCasesSplitsAndDropsStopWords() {
+		assertEquals(List.of("projector", "too", "dim"), TextAnalyzer.analyze("The PROJECTOR was too dim!"));
+	}
+
+	@Test
+	void dropsSingleCharacterTokens() {
+		assertEquals(List.of("c2", "lab"), TextAnalyzer.analyze("x c2 lab y"));
+	}
+
+	@Test
+	void emptyOrNullTextHasNoTerms() {
+		assertTrue(TextAnalyzer.analyze(null).isEmpty());
+		assertTrue(TextAnalyzer.analyze("").isEmpty());
+		assertTrue(TextAnalyzer.analyze("the and of").isEmpty());
+	}
+
+	@Test
+	void stemsCommonSuffixes() {
+		assertEquals("projector", TextAnalyzer.stem("projectors"));
+		assertEquals("study", TextAnalyzer.stem("studies"));
+		assertEquals("class", TextAnalyzer.stem("classes"));
+		assertEquals("run", TextAnalyzer.stem("running"));
+		assertEquals("quick", TextAnalyzer.stem("quickly"));
+		assertEquals("start", TextAnalyzer.stem("started"));
+	}
+
+	@Test
+	void leavesShortWordsNumbersAndSsEndingsAlone() {
+		assertEquals("bus", TextAnalyzer.stem("bus"));
+		assertEquals("class", TextAnalyzer.stem("class"));
+		assertEquals("2024s", TextAnalyzer.stem("2024s"));
+		assertEquals("status", TextAnalyzer.stem("status"));
+	}
+
+	@Test
+	void documentAndQueryFormsMeet() {
+		assertEquals(TextAnalyzer.analyze("Projectors keep failing"), TextAnalyzer.analyze("projector keeps failed"));
+	}
+}
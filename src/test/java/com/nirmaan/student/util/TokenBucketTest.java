@@ -0,0 +1,84 @@
+package com.nirmaan.student.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+	@Test
+	void allowsBurstThenReportsWait() {
+		TokenBucket bucket = new TokenBucket(3, 1, 1, TimeUnit.HOURS);
+
+		assertEquals(3, bucket.available());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryAcquire());
+		}
+		long wait = bucket.tryAcquire();
+		assertTrue(wait > TimeUnit.MINUTES.toNanos(59) && wait <= TimeUnit.HOURS.toNanos(1), "wait " + wait);
+		assertEquals(0, bucket.available());
+	}
+
+	@Test
+	void refillsOverTime() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(1, 1, 20, TimeUnit.MILLISECONDS);
+
+		assertEquals(0, bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire() > 0);
+		Thread.sleep(40);
+		assertEquals(0, bucket.tryAcquire());
+	}
+
+	@Test
+	void isFullOnlyOnceRefilled() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(2, 1, 20, TimeUnit.MILLISECONDS);
+
+		assertTrue(bucket.isFull());
+		bucket.tryAcquire();
+		assertFalse(bucket.isFull());
+		Thread.sleep(40);
+		assertTrue(bucket.isFull());
+	}
+
+	@Test
+	void concurrentCallersNeverExceedCapacity() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(50, 1, 1, TimeUnit.HOURS);
+		AtomicInteger granted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int i = 0; i < 8; i++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int j = 0; j < 100; j++) {
+					if (bucket.tryAcquire() == 0) {
+						granted.incrementAndGet();
+					}
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(50, granted.get());
+	}
+
+	@Test
+	void rejectsNonPositiveSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 1, TimeUnit.SECONDS));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 1, TimeUnit.SECONDS));
+	}
+}